@@ -57,7 +57,10 @@ import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import jenkins.plugins.nodejs.cache.CacheLocationLocator;
 import jenkins.plugins.nodejs.cache.DefaultCacheLocationLocator;
+import jenkins.plugins.nodejs.tools.NodeJSBackgroundInstaller;
 import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+import jenkins.plugins.nodejs.tools.NodeJSLoadBalancer;
+import jenkins.plugins.nodejs.tools.NodeJSVersionResolver;
 import jenkins.tasks.SimpleBuildWrapper;
 import org.jenkinsci.Symbol;
 import org.jenkinsci.lib.configprovider.model.Config;
@@ -105,6 +108,7 @@ public class NodeJSBuildWrapper extends SimpleBuildWrapper {
     private final String nodeJSInstallationName;
     private String configId;
     private CacheLocationLocator cacheLocationStrategy;
+    private boolean autoDetect;
 
     @DataBoundConstructor
     public NodeJSBuildWrapper(String nodeJSInstallationName) {
@@ -148,6 +152,23 @@ public class NodeJSBuildWrapper extends SimpleBuildWrapper {
         this.cacheLocationStrategy = cacheLocationStrategy == null ? new DefaultCacheLocationLocator() : cacheLocationStrategy;
     }
 
+    public boolean isAutoDetect() {
+        return autoDetect;
+    }
+
+    /**
+     * Resolves the NodeJS version from the {@code .nvmrc},
+     * {@code .node-version} or {@code package.json} files in the workspace.
+     * The configured installation, if any, is used when the workspace does
+     * not request a version.
+     *
+     * @param autoDetect if detect the NodeJS version from the workspace
+     */
+    @DataBoundSetter
+    public void setAutoDetect(boolean autoDetect) {
+        this.autoDetect = autoDetect;
+    }
+
     /*
      * (non-Javadoc)
      * @see jenkins.tasks.SimpleBuildWrapper#setUp(jenkins.tasks.SimpleBuildWrapper.Context, hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener, hudson.EnvVars)
@@ -156,7 +177,7 @@ public class NodeJSBuildWrapper extends SimpleBuildWrapper {
     public void setUp(final Context context, Run<?, ?> build, FilePath workspace, Launcher launcher, TaskListener listener, EnvVars initialEnvironment) throws IOException, InterruptedException {
         // get specific installation for the node
         NodeJSInstallation ni = getNodeJS();
-        if (ni == null) {
+        if (ni == null && !autoDetect) {
             throw new IOException(Messages.NodeJSBuilders_noInstallationFound(nodeJSInstallationName));
         }
         Computer computer = workspace.toComputer();
@@ -167,7 +188,19 @@ public class NodeJSBuildWrapper extends SimpleBuildWrapper {
         if (node == null) {
             throw new AbortException(Messages.NodeJSBuilders_nodeOffline());
         }
-        ni = ni.forNode(node, listener);
+        NodeJSInstallation detected = autoDetect ? NodeJSVersionResolver.forWorkspace(node, workspace, listener) : null;
+        if (detected != null) {
+            ni = detected;
+        } else if (ni == null) {
+            if (nodeJSInstallationName != null) {
+                throw new AbortException(Messages.NodeJSBuilders_noInstallationFound(nodeJSInstallationName));
+            }
+            throw new AbortException(Messages.NodeJSBuildWrapper_noVersionDetected());
+        } else {
+            // reuse the installation started in background if any
+            ni = NodeJSBackgroundInstaller.get().await(build, node, ni, listener);
+            NodeJSLoadBalancer.recordBuild(build.getParent(), node, nodeJSInstallationName, cacheLocationStrategy);
+        }
         ni = ni.forEnvironment(initialEnvironment);
         String exec = ni.getExecutable(launcher);
         if (exec == null) {
@@ -48,7 +48,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import jenkins.plugins.nodejs.cache.CacheLocationLocator;
 import jenkins.plugins.nodejs.cache.DefaultCacheLocationLocator;
+import jenkins.plugins.nodejs.tools.NodeJSBackgroundInstaller;
 import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+import jenkins.plugins.nodejs.tools.NodeJSLoadBalancer;
 import jenkins.plugins.nodejs.tools.Platform;
 import org.jenkinsci.Symbol;
 import org.jenkinsci.lib.configprovider.model.ConfigFile;
@@ -138,7 +140,9 @@ public class NodeJSCommandInterpreter extends CommandInterpreter {
                     throw new AbortException(Messages.NodeJSBuilders_nodeOffline());
                 }
 
-                ni = ni.forNode(node, listener);
+                // reuse the installation started in background if any
+                ni = NodeJSBackgroundInstaller.get().await(build, node, ni, listener);
+                NodeJSLoadBalancer.recordBuild(build.getParent(), node, nodeJSInstallationName, getCacheLocationStrategy());
                 ni = ni.forEnvironment(env);
                 String exec = ni.getExecutable(launcher);
                 if (exec == null) {
@@ -55,6 +55,17 @@ public final class NodeJSConstants {
      */
     public static final String ENVVAR_NODEJS_PATH = "PATH+NODEJS";
 
+    /**
+     * The name of environment variable that contribute the PATH value with
+     * the shared global packages.
+     */
+    public static final String ENVVAR_NODEJS_GLOBALS_PATH = "PATH+NODEJS_GLOBALS";
+
+    /**
+     * The location where Corepack stores the package managers.
+     */
+    public static final String ENVVAR_COREPACK_HOME = "COREPACK_HOME";
+
     /**
      * The location of NPM cache.
      */
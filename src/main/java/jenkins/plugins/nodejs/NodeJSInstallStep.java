@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Item;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.ListBoxModel;
+import jenkins.plugins.nodejs.tools.NodeJSBackgroundInstaller;
+import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+
+/**
+ * Pipeline step that starts the installation of a NodeJS tool on the current
+ * agent and returns immediately, so that the installation runs while the
+ * pipeline goes on (for example with the SCM checkout). A later
+ * {@code nodejs} block for the same tool awaits the installation.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSInstallStep extends Step {
+
+    private final String nodeJSInstallationName;
+
+    @DataBoundConstructor
+    public NodeJSInstallStep(String nodeJSInstallationName) {
+        this.nodeJSInstallationName = Util.fixEmptyAndTrim(nodeJSInstallationName);
+    }
+
+    public String getNodeJSInstallationName() {
+        return nodeJSInstallationName;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context, nodeJSInstallationName);
+    }
+
+    private static class Execution extends StepExecution {
+        private static final long serialVersionUID = 1L;
+
+        private final String nodeJSInstallationName;
+
+        Execution(StepContext context, String nodeJSInstallationName) {
+            super(context);
+            this.nodeJSInstallationName = nodeJSInstallationName;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            NodeJSInstallation installation = NodeJSUtils.getNodeJS(nodeJSInstallationName);
+            if (installation == null) {
+                throw new AbortException(Messages.NodeJSBuilders_noInstallationFound(nodeJSInstallationName));
+            }
+            Computer computer = getContext().get(Computer.class);
+            Node node = computer != null ? computer.getNode() : null;
+            if (node == null) {
+                throw new AbortException(Messages.NodeJSBuilders_nodeOffline());
+            }
+
+            NodeJSBackgroundInstaller.get().installAsync(getContext().get(Run.class), node, installation);
+            getContext().onSuccess(null);
+            return true;
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "nodejsInstall";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.NodeJSInstallStep_displayName();
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            Set<Class<?>> context = new HashSet<>();
+            context.add(Computer.class);
+            context.add(Run.class);
+            context.add(TaskListener.class);
+            return Collections.unmodifiableSet(context);
+        }
+
+        @RequirePOST
+        public ListBoxModel doFillNodeJSInstallationNameItems(@Nullable @AncestorInPath Item item) {
+            return NodeJSDescriptorUtils.getNodeJSInstallations(item, false);
+        }
+    }
+
+}
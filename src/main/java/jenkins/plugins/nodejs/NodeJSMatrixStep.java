@@ -0,0 +1,359 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Proc;
+import hudson.Util;
+import hudson.console.LineTransformationOutputStream;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.slaves.WorkspaceList;
+import hudson.util.DirScanner;
+import hudson.util.StreamTaskListener;
+import jenkins.plugins.nodejs.tools.NodeJSBackgroundInstaller;
+import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+
+/**
+ * Pipeline step that runs the same shell script under several NodeJS
+ * installations at the same time on the current agent.
+ * <p>
+ * All installations are started in parallel, each run gets its own
+ * environment, temporary folder and copy of the workspace, so that
+ * {@code node_modules} and native addons built for different versions do not
+ * overwrite each other. The copies, without {@code node_modules}, are kept in
+ * {@code <workspace>@tmp/nodejs-matrix-workspaces/<installation>} until the
+ * next run of the step. The output of each run is prefixed with the
+ * installation name. The npm cache is shared, npm supports concurrent use.
+ * The step returns the exit code of each run and fails if any run fails,
+ * unless {@code returnStatus} is set.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSMatrixStep extends Step {
+
+    private final List<String> installations;
+    private final String script;
+    private boolean returnStatus;
+
+    @DataBoundConstructor
+    public NodeJSMatrixStep(List<String> installations, String script) {
+        this.installations = installations == null ? Collections.emptyList() : new ArrayList<>(installations);
+        this.script = script;
+    }
+
+    public List<String> getInstallations() {
+        return Collections.unmodifiableList(installations);
+    }
+
+    public String getScript() {
+        return script;
+    }
+
+    public boolean isReturnStatus() {
+        return returnStatus;
+    }
+
+    @DataBoundSetter
+    public void setReturnStatus(boolean returnStatus) {
+        this.returnStatus = returnStatus;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context, this);
+    }
+
+    private static class Execution extends SynchronousNonBlockingStepExecution<Map<String, Integer>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient NodeJSMatrixStep step;
+
+        Execution(StepContext context, NodeJSMatrixStep step) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Map<String, Integer> run() throws Exception {
+            if (step.installations.isEmpty()) {
+                throw new AbortException(Messages.NodeJSMatrixStep_noInstallations());
+            }
+            List<NodeJSInstallation> tools = new ArrayList<>();
+            for (String name : step.installations) {
+                NodeJSInstallation installation = NodeJSUtils.getNodeJS(name);
+                if (installation == null) {
+                    throw new AbortException(Messages.NodeJSBuilders_noInstallationFound(name));
+                }
+                tools.add(installation);
+            }
+
+            StepContext context = getContext();
+            Computer computer = context.get(Computer.class);
+            Node node = computer != null ? computer.getNode() : null;
+            if (node == null) {
+                throw new AbortException(Messages.NodeJSBuilders_nodeOffline());
+            }
+            Run<?, ?> run = context.get(Run.class);
+            FilePath workspace = context.get(FilePath.class);
+            Launcher launcher = context.get(Launcher.class);
+            EnvVars env = context.get(EnvVars.class);
+            TaskListener listener = context.get(TaskListener.class);
+
+            // start all installations before waiting for any of them
+            NodeJSBackgroundInstaller installer = NodeJSBackgroundInstaller.get();
+            for (NodeJSInstallation installation : tools) {
+                installer.installAsync(run, node, installation);
+            }
+
+            Processes procs = new Processes();
+            Map<String, CompletableFuture<Integer>> runs = new LinkedHashMap<>();
+            for (NodeJSInstallation installation : tools) {
+                runs.put(installation.getName(), CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return runScript(run, node, installation, workspace, launcher, env, listener, procs);
+                    } catch (IOException | InterruptedException e) {
+                        listener.error(Messages.NodeJSMatrixStep_runFailed(installation.getName(), e.getMessage()));
+                        return -1;
+                    }
+                }, Computer.threadPoolForRemoting));
+            }
+
+            Map<String, Integer> result = new LinkedHashMap<>();
+            List<String> failed = new ArrayList<>();
+            try {
+                for (Map.Entry<String, CompletableFuture<Integer>> run : runs.entrySet()) {
+                    int exitCode = run.getValue().get();
+                    result.put(run.getKey(), exitCode);
+                    if (exitCode != 0) {
+                        failed.add(run.getKey());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // runs still installing must not start their process once the step is aborted
+                procs.stop();
+                for (CompletableFuture<Integer> run : runs.values()) {
+                    run.cancel(true);
+                }
+                throw e;
+            } catch (ExecutionException e) {
+                throw new AbortException(e.getCause().getMessage());
+            }
+
+            PrintStream logger = listener.getLogger();
+            for (Map.Entry<String, Integer> entry : result.entrySet()) {
+                logger.println(Messages.NodeJSMatrixStep_summary(entry.getKey(), entry.getValue()));
+            }
+            if (!failed.isEmpty() && !step.returnStatus) {
+                throw new AbortException(Messages.NodeJSMatrixStep_failed(String.join(", ", failed)));
+            }
+            return result;
+        }
+
+        private int runScript(Run<?, ?> run,
+                              Node node,
+                              NodeJSInstallation installation,
+                              FilePath workspace,
+                              Launcher launcher,
+                              EnvVars env,
+                              TaskListener listener,
+                              Processes procs) throws IOException, InterruptedException {
+            PrefixedOutputStream out = new PrefixedOutputStream(listener.getLogger(), installation.getName());
+            TaskListener runListener = new StreamTaskListener(out, StandardCharsets.UTF_8);
+
+            NodeJSInstallation ni = NodeJSBackgroundInstaller.get().await(run, node, installation, runListener);
+            ni = ni.forEnvironment(env);
+
+            EnvVars runEnv = new EnvVars(env);
+            EnvVars toolEnv = new EnvVars();
+            ni.buildEnvVars(toolEnv);
+            runEnv.overrideAll(toolEnv);
+
+            // every run has its own temporary folder, the npm cache is safe for concurrent use
+            FilePath tmp = WorkspaceList.tempDir(workspace).child("nodejs-matrix").child(Util.rawEncode(installation.getName()));
+            FilePath runWorkspace = WorkspaceList.tempDir(workspace).child("nodejs-matrix-workspaces").child(Util.rawEncode(installation.getName()));
+            try {
+                tmp.mkdirs();
+                // dependencies and native addons are installed for each version in its own copy
+                runWorkspace.deleteRecursive();
+                runWorkspace.mkdirs();
+                workspace.copyRecursiveTo(new DirScanner.Glob("**", "**/node_modules/**", false), runWorkspace, workspace.getRemote());
+                runEnv.put("WORKSPACE", runWorkspace.getRemote());
+                runEnv.put("TMPDIR", tmp.getRemote());
+                runEnv.put("TEMP", tmp.getRemote());
+                runEnv.put("TMP", tmp.getRemote());
+
+                String[] cmds;
+                if (launcher.isUnix()) {
+                    FilePath file = tmp.createTextTempFile("script", ".sh", step.script, false);
+                    cmds = new String[] { "sh", "-xe", file.getRemote() };
+                } else {
+                    FilePath file = tmp.createTextTempFile("script", ".bat", step.script, false);
+                    cmds = new String[] { "cmd", "/c", "call", file.getRemote() };
+                }
+
+                procs.checkStopped();
+                Proc proc = procs.register(launcher.launch().cmds(cmds).envs(runEnv).stdout(out).pwd(runWorkspace).start());
+                try {
+                    return proc.join();
+                } finally {
+                    procs.remove(proc);
+                }
+            } finally {
+                out.close();
+                try {
+                    tmp.deleteRecursive();
+                } catch (IOException e) {
+                    listener.error(Messages.NodeJSMatrixStep_cleanupFailed(tmp, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes of the running scripts, once stopped the processes started
+     * later are killed as soon as they register.
+     */
+    private static class Processes {
+        private final List<Proc> procs = new ArrayList<>();
+        private boolean stopped;
+
+        synchronized void checkStopped() throws InterruptedException {
+            if (stopped) {
+                throw new InterruptedException();
+            }
+        }
+
+        synchronized Proc register(Proc proc) throws IOException, InterruptedException {
+            if (stopped) {
+                proc.kill();
+                throw new InterruptedException();
+            }
+            procs.add(proc);
+            return proc;
+        }
+
+        synchronized void remove(Proc proc) {
+            procs.remove(proc);
+        }
+
+        synchronized void stop() throws IOException, InterruptedException {
+            stopped = true;
+            for (Proc proc : procs) {
+                proc.kill();
+            }
+        }
+    }
+
+    /**
+     * Prefixes each line with the installation name, whole lines are written
+     * at once so that the output of concurrent runs does not interleave.
+     */
+    private static class PrefixedOutputStream extends LineTransformationOutputStream {
+        private final PrintStream out;
+        private final byte[] prefix;
+
+        PrefixedOutputStream(PrintStream out, String name) {
+            this.out = out;
+            this.prefix = ('[' + name + "] ").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        protected void eol(byte[] b, int len) throws IOException {
+            synchronized (out) {
+                out.write(prefix);
+                out.write(b, 0, len);
+                out.flush();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            forceEol();
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "nodejsMatrix";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.NodeJSMatrixStep_displayName();
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            Set<Class<?>> context = new HashSet<>();
+            context.add(Computer.class);
+            context.add(Run.class);
+            context.add(FilePath.class);
+            context.add(Launcher.class);
+            context.add(EnvVars.class);
+            context.add(TaskListener.class);
+            return Collections.unmodifiableSet(context);
+        }
+    }
+
+}
@@ -0,0 +1,361 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.tools.ToolInstallation;
+import hudson.tools.ToolInstaller;
+import hudson.tools.ToolInstallerDescriptor;
+import hudson.util.FormValidation;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Adopts a NodeJS runtime already installed on the node (by nvm, fnm or
+ * unpacked under a system path) instead of downloading it.
+ * <p>
+ * Each search path is either a NodeJS home or a folder that contains NodeJS
+ * homes. The version of a candidate is taken from its folder name when
+ * possible, otherwise from {@code node --version}. The lookup is done with a
+ * single remote call and its result is cached until the agent reconnects or
+ * the cached home no longer contains a NodeJS executable.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class AdoptNodeJSInstaller extends ToolInstaller {
+
+    /* package */ static final String DEFAULT_SEARCH_PATHS = "~/.nvm/versions/node\n~/.local/share/fnm/node-versions\n/opt\n/usr/local/lib/nodejs";
+
+    private static final Map<VirtualChannel, Map<String, String>> LOOKUP_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String searchPaths;
+    private final String version;
+
+    @DataBoundConstructor
+    public AdoptNodeJSInstaller(String label, String searchPaths, String version) {
+        super(label);
+        this.searchPaths = StringUtils.defaultIfBlank(Util.fixEmptyAndTrim(searchPaths), DEFAULT_SEARCH_PATHS);
+        this.version = Util.fixEmptyAndTrim(version);
+    }
+
+    public String getSearchPaths() {
+        return searchPaths;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public FilePath performInstallation(ToolInstallation tool, Node node, TaskListener log) throws IOException, InterruptedException {
+        VirtualChannel channel = node.getChannel();
+        if (channel == null) {
+            throw new IOException(Messages.SystemTools_nodeNotAvailable(node.getDisplayName()));
+        }
+
+        try {
+            validate(version);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(Messages.AdoptNodeJSInstaller_DescriptorImpl_invalidVersion(version), e);
+        }
+
+        Map<String, String> nodeCache = LOOKUP_CACHE.computeIfAbsent(channel, c -> new ConcurrentHashMap<>());
+        String key = searchPaths + '@' + version;
+        String home = nodeCache.get(key);
+        if (home != null && !isHome(new FilePath(channel, home))) {
+            // the cached runtime was removed or upgraded in the meantime
+            nodeCache.remove(key, home);
+            home = null;
+        }
+        if (home == null) {
+            home = channel.call(new Lookup(splitSearchPaths(searchPaths), version));
+            if (home == null) {
+                throw new IOException(Messages.AdoptNodeJSInstaller_notFound(StringUtils.defaultString(version, "*"), node.getDisplayName()));
+            }
+            nodeCache.put(key, home);
+            log.getLogger().println(Messages.AdoptNodeJSInstaller_adopted(home, node.getDisplayName()));
+        }
+        return new FilePath(channel, home);
+    }
+
+    private static boolean isHome(FilePath home) throws IOException, InterruptedException {
+        return home.child("bin/node").exists() || home.child("node.exe").exists();
+    }
+
+    private static List<String> splitSearchPaths(String searchPaths) {
+        List<String> paths = new ArrayList<>();
+        for (String path : searchPaths.split("[\\r\\n,;]+")) {
+            String p = Util.fixEmptyAndTrim(path);
+            if (p != null) {
+                paths.add(p);
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Verifies that the version specification is a {@link NodeJSVersionRange
+     * range} or a version prefix like {@code 20}, {@code 20.11},
+     * {@code v20.11.0} or {@code 20.x}; a blank specification is valid.
+     *
+     * @param spec the version specification
+     * @throws IllegalArgumentException if the specification is not valid
+     */
+    /* package */ static void validate(@CheckForNull String spec) {
+        String s = StringUtils.removeStartIgnoreCase(StringUtils.trimToEmpty(spec), "v");
+        if (s.isEmpty()) {
+            return;
+        }
+        if (isRange(s)) {
+            new NodeJSVersionRange(s);
+            return;
+        }
+        String[] tokens = s.split("\\.", -1);
+        if (tokens.length > 3) {
+            throw new IllegalArgumentException("Too many version components in " + spec);
+        }
+        for (String token : tokens) {
+            if (isWildcard(token)) {
+                continue;
+            }
+            if (!StringUtils.isNumeric(token)) {
+                throw new IllegalArgumentException("Invalid version component " + token + " in " + spec);
+            }
+            Integer.parseInt(token); // NumberFormatException on overflow
+        }
+    }
+
+    /**
+     * Returns if the given version satisfies the version specification. The
+     * specification is a {@link NodeJSVersionRange range} or a version prefix
+     * like {@code 20}, {@code 20.11} or {@code v20.11.0}; a blank specification
+     * matches any version and an invalid one, like {@code lts/*}, matches
+     * nothing.
+     *
+     * @param spec the version specification
+     * @param version the candidate version
+     * @return {@code true} if the candidate version is acceptable
+     */
+    /* package */ static boolean matches(@CheckForNull String spec, @NonNull NodeJSVersion version) {
+        try {
+            validate(spec);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String s = StringUtils.removeStartIgnoreCase(StringUtils.trimToEmpty(spec), "v");
+        if (s.isEmpty()) {
+            return true;
+        }
+        if (isRange(s)) {
+            return new NodeJSVersionRange(s).includes(version);
+        }
+
+        String[] tokens = s.split("\\.", -1);
+        int[] components = { version.getMajor(), version.getMinor(), version.getMicro() };
+        for (int i = 0; i < tokens.length; i++) {
+            if (!isWildcard(tokens[i]) && Integer.parseInt(tokens[i]) != components[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRange(String spec) {
+        char first = spec.charAt(0);
+        return first == NodeJSVersionRange.LEFT_CLOSED || first == NodeJSVersionRange.LEFT_OPEN;
+    }
+
+    private static boolean isWildcard(String token) {
+        return "x".equalsIgnoreCase(token) || "*".equals(token);
+    }
+
+    /**
+     * Scans the search paths on the node and returns the home of the highest
+     * NodeJS version that satisfies the version specification.
+     */
+    /* package */ static class Lookup extends MasterToSlaveCallable<String, IOException> {
+        private static final long serialVersionUID = 1L;
+        /*
+         * nodejs.org archives are named node-v<version>-<os>-<arch>, nvm and fnm use v<version>.
+         */
+        private static final Pattern FOLDER_PATTERN = Pattern.compile("(?:node-v(\\d+\\.\\d+\\.\\d+)(?:-.*)?|v(\\d+\\.\\d+\\.\\d+))");
+        private static final Pattern OUTPUT_PATTERN = Pattern.compile("v(\\d+\\.\\d+\\.\\d+)");
+
+        private final List<String> searchPaths;
+        private final String version;
+
+        Lookup(List<String> searchPaths, String version) {
+            this.searchPaths = searchPaths;
+            this.version = version;
+        }
+
+        @Override
+        public String call() throws IOException {
+            NodeJSVersion bestVersion = null;
+            File bestHome = null;
+            for (String searchPath : searchPaths) {
+                for (File home : candidates(expand(searchPath))) {
+                    NodeJSVersion candidate = versionOf(home);
+                    if (candidate != null && matches(version, candidate) //
+                            && (bestVersion == null || candidate.compareTo(bestVersion) > 0)) {
+                        bestVersion = candidate;
+                        bestHome = home;
+                    }
+                }
+            }
+            return bestHome != null ? bestHome.getAbsolutePath() : null;
+        }
+
+        private File expand(String path) {
+            if (path.equals("~") || path.startsWith("~/") || path.startsWith("~\\")) {
+                return new File(System.getProperty("user.home") + path.substring(1));
+            }
+            return new File(path);
+        }
+
+        private List<File> candidates(File searchPath) {
+            List<File> candidates = new ArrayList<>();
+            if (isHome(searchPath)) {
+                candidates.add(searchPath);
+                return candidates;
+            }
+            File[] children = searchPath.listFiles(File::isDirectory);
+            if (children != null) {
+                for (File child : children) {
+                    if (isHome(child)) {
+                        candidates.add(child);
+                    } else if (isHome(new File(child, "installation"))) {
+                        // fnm layout <version>/installation
+                        candidates.add(new File(child, "installation"));
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private boolean isHome(File dir) {
+            return executable(dir).isFile();
+        }
+
+        private File executable(File home) {
+            return File.pathSeparatorChar == ';' ? new File(home, "node.exe") : new File(new File(home, "bin"), "node");
+        }
+
+        @CheckForNull
+        private NodeJSVersion versionOf(File home) {
+            // cheap check, nvm, fnm and nodejs.org archives put the version in the folder name
+            File named = "installation".equals(home.getName()) ? home.getParentFile() : home;
+            String v = parseFolderVersion(named.getName());
+            if (v == null) {
+                // any other folder, like /opt/app-2.0.1, is asked for its version
+                Matcher m = OUTPUT_PATTERN.matcher(StringUtils.trimToEmpty(runVersion(home)));
+                v = m.matches() ? m.group(1) : null;
+            }
+            return v != null ? NodeJSVersion.parseVersion(v) : null;
+        }
+
+        @CheckForNull
+        /* package */ static String parseFolderVersion(String name) {
+            Matcher m = FOLDER_PATTERN.matcher(name);
+            return m.matches() ? StringUtils.defaultString(m.group(1), m.group(2)) : null;
+        }
+
+        @CheckForNull
+        private String runVersion(File home) {
+            try {
+                Process process = new ProcessBuilder(executable(home).getAbsolutePath(), "--version").redirectErrorStream(true).start();
+                try (InputStream is = process.getInputStream()) {
+                    // the version fits the pipe buffer, an executable that hangs is killed instead of read forever
+                    if (process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                        return IOUtils.toString(is, StandardCharsets.UTF_8);
+                    }
+                } finally {
+                    process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                // not a valid executable
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends ToolInstallerDescriptor<AdoptNodeJSInstaller> {
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.AdoptNodeJSInstaller_DescriptorImpl_displayName();
+        }
+
+        @Override
+        public boolean isApplicable(Class<? extends ToolInstallation> toolType) {
+            return toolType == NodeJSInstallation.class;
+        }
+
+        public String getDefaultSearchPaths() {
+            return DEFAULT_SEARCH_PATHS;
+        }
+
+        public FormValidation doCheckVersion(@QueryParameter String version) {
+            try {
+                validate(version);
+                return FormValidation.ok();
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(Messages.AdoptNodeJSInstaller_DescriptorImpl_invalidVersion(version));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.FilePath;
+import hudson.FilePath.TarCompression;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+
+/**
+ * Second level cache of NodeJS archives stored in the root directory of an
+ * agent.
+ * <p>
+ * Archives have the same format of the controller cache so that they could be
+ * restored without any transfer between controller and agent when the tool
+ * home folder is wiped out. The cache size is bounded, when exceeded the least
+ * recently used archives are evicted.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ final class AgentArchiveCache {
+
+    private static final String CACHE_FOLDER = "caches/nodejs-agent";
+
+    /**
+     * Maximum size in MB of the archive cache on each agent, 0 disable the
+     * agent cache.
+     */
+    private static final long MAX_SIZE = Long.getLong(NodeJSInstaller.class.getName() + ".agentCache.maxSize", 2048); // NOSONAR
+
+    private final FilePath root;
+    private final long maxSize;
+
+    /* package */ AgentArchiveCache(@NonNull FilePath root, long maxSize) {
+        this.root = root;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the archive cache of the given node.
+     *
+     * @param node where lookup the cache
+     * @return the archive cache or {@code null} if the node has not a cache
+     */
+    @CheckForNull
+    public static AgentArchiveCache of(@NonNull Node node) {
+        if (MAX_SIZE <= 0 || node instanceof Jenkins) {
+            // the built-in node already has the controller cache
+            return null;
+        }
+        FilePath rootPath = node.getRootPath();
+        if (rootPath == null) {
+            return null;
+        }
+        return new AgentArchiveCache(rootPath.child(CACHE_FOLDER), MAX_SIZE * 1024 * 1024);
+    }
+
+    @NonNull
+    public FilePath getArchive(@NonNull Platform platform, @NonNull CPU cpu, @NonNull String id) {
+        return root.child(platform + "/" + cpu + "/" + id + ".tar.gz");
+    }
+
+    /**
+     * Unpack the given cached archive into the tool home.
+     *
+     * @param archive in this cache
+     * @param expected the tool home
+     * @throws IOException in case of failure unpacking the archive
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public void restore(@NonNull FilePath archive, @NonNull FilePath expected) throws IOException, InterruptedException {
+        archive.untar(expected, TarCompression.GZIP);
+        // keep track of last access for the LRU eviction
+        archive.touch(System.currentTimeMillis());
+    }
+
+    /**
+     * Copy an archive of the controller cache into this cache.
+     *
+     * @param cache the archive in the controller cache
+     * @param archive the destination in this cache
+     * @throws IOException in case of failure coping the archive
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public void store(@NonNull File cache, @NonNull FilePath archive) throws IOException, InterruptedException {
+        FilePath tmp = archive.sibling(archive.getName() + ".tmp");
+        try {
+            tmp.copyFrom(new FilePath(cache));
+            tmp.renameTo(archive);
+        } finally {
+            tmp.delete();
+        }
+        evict();
+    }
+
+    /**
+     * Archives an installed tool home into this cache. The archive is built on
+     * the agent, nothing is transferred to the controller.
+     *
+     * @param expected the tool home
+     * @param archive the destination in this cache
+     * @throws IOException in case of failure creating the archive
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public void store(@NonNull FilePath expected, @NonNull FilePath archive) throws IOException, InterruptedException {
+        expected.act(new BuildArchive(archive.getRemote()));
+        evict();
+    }
+
+    private void evict() throws IOException, InterruptedException {
+        root.act(new Evict(maxSize));
+    }
+
+    private static final class BuildArchive extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final String archive;
+
+        BuildArchive(String archive) {
+            this.archive = archive;
+        }
+
+        @Override
+        public Void invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+            NodeJSInstaller.buildCache(new FilePath(f), new File(archive));
+            return null;
+        }
+    }
+
+    private static final class Evict extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final long maxSize;
+
+        Evict(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            if (!f.isDirectory()) {
+                return null;
+            }
+
+            List<Path> archives;
+            try (Stream<Path> files = Files.walk(f.toPath())) {
+                archives = files.filter(p -> p.getFileName().toString().endsWith(".tar.gz")) //
+                        .sorted(Comparator.comparingLong(p -> p.toFile().lastModified())) //
+                        .collect(Collectors.toCollection(ArrayList::new));
+            }
+
+            long size = 0;
+            for (Path archive : archives) {
+                size += Files.size(archive);
+            }
+            // always keep the most recent archive also if it exceed the limit
+            for (int i = 0; size > maxSize && i < archives.size() - 1; i++) {
+                Path archive = archives.get(i);
+                long archiveSize = Files.size(archive);
+                if (Files.deleteIfExists(archive)) {
+                    size -= archiveSize;
+                }
+            }
+            return null;
+        }
+    }
+
+}
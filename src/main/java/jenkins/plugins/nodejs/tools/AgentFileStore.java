@@ -0,0 +1,255 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.FilePath;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Content addressed store of the files of NodeJS installations on an agent.
+ * <p>
+ * Files of an installation that are identical to files of other installations
+ * (like most of npm, headers and docs between patch releases) are replaced
+ * by hard links to the same blob of the store. A blob is referenced by the
+ * installations through the link count of the file system, when no
+ * installation links it anymore the blob is purged by
+ * {@link NodeJSInstallationsCleaner}.
+ * <p>
+ * Dot files and dot folders, like the {@code .installedFrom} and
+ * {@code .npmPackages} records, are written in place and are never linked.
+ * <p>
+ * The installation is deduplicated after it has been fully extracted, so the
+ * store saves disk space but not the write of the archive content.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ final class AgentFileStore {
+
+    private static final String STORE_FOLDER = "caches/nodejs-store";
+    private static final boolean ENABLED = Boolean.getBoolean(NodeJSInstaller.class.getName() + ".store.enabled"); // NOSONAR
+    private static final Logger LOGGER = Logger.getLogger(AgentFileStore.class.getName());
+    /**
+     * store folder -> lock, held on the agent so a purge never removes a blob
+     * that a deduplication is about to link.
+     */
+    private static final ConcurrentMap<String, ReadWriteLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final FilePath root;
+
+    /* package */ AgentFileStore(@NonNull FilePath root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the store of the given node.
+     *
+     * @param node where lookup the store
+     * @param platform of the node
+     * @return the store or {@code null} if not available for the node
+     */
+    @CheckForNull
+    public static AgentFileStore of(@NonNull Node node, @NonNull Platform platform) {
+        // the link count used to release blobs is not available on Windows
+        if (!ENABLED || platform == Platform.WINDOWS) {
+            return null;
+        }
+        FilePath rootPath = node.getRootPath();
+        return rootPath != null ? new AgentFileStore(rootPath.child(STORE_FOLDER)) : null;
+    }
+
+    /**
+     * Replaces the files of the given installation with links to the
+     * identical blobs in the store, new files are added to the store.
+     *
+     * @param home the installation folder
+     * @return the number of bytes saved
+     * @throws IOException in case of failure accessing the file system
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public long deduplicate(@NonNull FilePath home) throws IOException, InterruptedException {
+        return home.act(new Deduplicate(root.getRemote()));
+    }
+
+    /**
+     * Removes the blobs that are not referenced by any installation.
+     *
+     * @return the number of purged blobs
+     * @throws IOException in case of failure accessing the file system
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public int purge() throws IOException, InterruptedException {
+        return root.act(new Purge());
+    }
+
+    private static final class Deduplicate extends MasterToSlaveFileCallable<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final String store;
+
+        Deduplicate(String store) {
+            this.store = store;
+        }
+
+        @Override
+        public Long invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+            Lock lock = getLock(store).readLock();
+            lock.lockInterruptibly();
+            try {
+                return deduplicate(f.toPath(), new File(store).toPath());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long deduplicate(Path home, Path storeRoot) throws IOException, InterruptedException {
+            Files.createDirectories(storeRoot);
+            if (!Files.getFileStore(storeRoot).equals(Files.getFileStore(home))) {
+                // hard links can not cross file systems
+                return 0;
+            }
+
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(home)) {
+                // walk does not follow links so shared installations are not traversed
+                files = walk.filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS) && !isMutable(home.relativize(p))).collect(Collectors.toList());
+            }
+
+            long saved = 0;
+            for (Path file : files) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                try {
+                    saved += link(file, storeRoot);
+                } catch (UnsupportedOperationException e) {
+                    // file system without hard links
+                    return saved;
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to deduplicate " + file, e);
+                }
+            }
+            return saved;
+        }
+
+        /*
+         * Records and markers are updated in place, a change through a link would alter all installations.
+         */
+        private boolean isMutable(Path relative) {
+            for (Path name : relative) {
+                if (name.toString().startsWith(".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long link(Path file, Path storeRoot) throws IOException {
+            long size = Files.size(file);
+            if (size == 0) {
+                return 0;
+            }
+            // link shares also permissions, executable files are separate blobs
+            String key = ToolsUtils.sha256(file) + (Files.isExecutable(file) ? "x" : "");
+            Path blob = storeRoot.resolve(key.substring(0, 2)).resolve(key);
+            Files.createDirectories(blob.getParent());
+            try {
+                Files.createLink(blob, file);
+            } catch (FileAlreadyExistsException e) {
+                if (!Files.isSameFile(blob, file)) {
+                    Path tmp = file.resolveSibling(file.getFileName() + ".link");
+                    Files.deleteIfExists(tmp);
+                    Files.createLink(tmp, blob);
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return size;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Purge extends MasterToSlaveFileCallable<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Integer invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+            if (!f.isDirectory()) {
+                return 0;
+            }
+
+            Lock lock = getLock(f.getPath()).writeLock();
+            lock.lockInterruptibly();
+            try {
+                return purge(f);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int purge(File f) throws IOException {
+            List<Path> blobs;
+            try (Stream<Path> walk = Files.walk(f.toPath())) {
+                blobs = walk.filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS)).collect(Collectors.toList());
+            }
+
+            int purged = 0;
+            for (Path blob : blobs) {
+                // the store itself holds the only link
+                if (((Number) Files.getAttribute(blob, "unix:nlink")).intValue() <= 1) {
+                    Files.delete(blob);
+                    purged++;
+                }
+            }
+            return purged;
+        }
+    }
+
+    private static ReadWriteLock getLock(String store) {
+        return LOCKS.computeIfAbsent(new File(store).getAbsolutePath(), k -> new ReentrantReadWriteLock());
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.Option;
+
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import hudson.util.StreamTaskListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.NodeJSUtils;
+
+/**
+ * Writes to the standard output a tar.gz bundle of a NodeJS installation to
+ * extract into the root folder of an agent image.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ * @see NodeJSBundleExporter
+ */
+@Extension
+public class ExportNodeJSBundleCommand extends CLICommand {
+
+    @Argument(metaVar = "NAME", usage = "Name of the NodeJS installation", required = true)
+    public String name;
+
+    @Option(name = "-platform", usage = "Platform of the agent image")
+    public Platform platform = Platform.LINUX;
+
+    @Option(name = "-cpu", usage = "CPU architecture of the agent image")
+    public CPU cpu = CPU.amd64;
+
+    @Option(name = "-skip-packages", usage = "Do not include the global npm packages and the Corepack package managers, agents install them at first use")
+    public boolean skipPackages;
+
+    @Override
+    public String getName() {
+        return "export-nodejs-bundle";
+    }
+
+    @Override
+    public String getShortDescription() {
+        return Messages.ExportNodeJSBundleCommand_shortDescription();
+    }
+
+    @Override
+    protected int run() throws Exception {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        NodeJSInstallation installation = NodeJSUtils.getNodeJS(name);
+        if (installation == null) {
+            throw new IllegalArgumentException(Messages.NodeJSBuilders_noInstallationFound(name));
+        }
+
+        StreamTaskListener log = new StreamTaskListener(stderr, getClientCharset());
+        new NodeJSBundleExporter(installation, platform, cpu).export(stdout, skipPackages, log);
+        stdout.flush();
+        return 0;
+    }
+
+}
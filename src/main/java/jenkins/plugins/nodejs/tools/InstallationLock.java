@@ -0,0 +1,391 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.FilePath;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.util.Timer;
+
+/**
+ * Coordinates concurrent installations into the same tool home.
+ * <p>
+ * Executors of the same Jenkins instance are coordinated in memory, the first
+ * one performs the installation and the others wait and reuse its result.
+ * Agents that mount the same tool folder (for example over NFS) are
+ * recognised by a marker file that holds a file system identifier, so they
+ * are coordinated in memory as well. Other processes that share the file
+ * system are coordinated through a lock file placed beside the tool home, the
+ * owner renews its lease while installing and a lease that is not renewed in
+ * time is broken by the waiters.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ final class InstallationLock {
+
+    /**
+     * The installation performed under lock.
+     */
+    @FunctionalInterface
+    interface Installation {
+        FilePath install() throws IOException, InterruptedException;
+    }
+
+    /* package */ static final String FILESYSTEM_ID_FILENAME = ".nodejs-fs-id";
+
+    private static final ConcurrentMap<String, CompletableFuture<FilePath>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final Map<VirtualChannel, Map<String, String>> FILESYSTEM_IDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Time after which a lock file whose lease is not renewed is considered
+     * left by a dead process.
+     */
+    private static final long LEASE_TIMEOUT = TimeUnit.SECONDS.toMillis(Long.getLong(NodeJSInstaller.class.getName() + ".lock.leaseSeconds", 60)); // NOSONAR
+    private static final long POLL_INTERVAL = 1000;
+
+    private InstallationLock() {
+    }
+
+    /**
+     * Runs the given installation unless another one into the same tool home is
+     * in progress, in which case waits for it and returns its result.
+     *
+     * @param node where the tool is installed
+     * @param home the tool home
+     * @param log where report the time spent waiting
+     * @param installation the installation to run
+     * @return the tool home
+     * @throws IOException if the installation fails
+     * @throws InterruptedException if interrupted while installing or waiting
+     */
+    public static FilePath install(@NonNull Node node, @NonNull FilePath home, @NonNull TaskListener log, @NonNull Installation installation) throws IOException, InterruptedException {
+        return install(node, home, log, installation, new CheckIntegrity());
+    }
+
+    /**
+     * Runs the given installation unless another one into the same folder is
+     * in progress, in which case waits for it and returns its result when the
+     * folder passes the given integrity check.
+     *
+     * @param node where the tool is installed
+     * @param home the tool home or any other folder installed under lock
+     * @param log where report the time spent waiting
+     * @param installation the installation to run
+     * @param integrity tells if the folder installed by someone else is
+     *        complete, otherwise the installation is run again
+     * @return the folder
+     * @throws IOException if the installation fails
+     * @throws InterruptedException if interrupted while installing or waiting
+     */
+    public static FilePath install(@NonNull Node node, @NonNull FilePath home, @NonNull TaskListener log, @NonNull Installation installation,
+                                   @NonNull MasterToSlaveFileCallable<Boolean> integrity) throws IOException, InterruptedException {
+        String key = getKey(node, home);
+        long start = System.currentTimeMillis();
+        while (true) {
+            CompletableFuture<FilePath> future = new CompletableFuture<>();
+            CompletableFuture<FilePath> inFlight = IN_FLIGHT.putIfAbsent(key, future);
+            if (inFlight == null) {
+                try {
+                    FilePath result = installUnderLockFile(home, log, installation, integrity, start);
+                    future.complete(result);
+                    return result;
+                } catch (Throwable e) { // NOSONAR
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    IN_FLIGHT.remove(key, future);
+                }
+            }
+
+            log.getLogger().println(Messages.InstallationLock_waiting(home, node.getDisplayName()));
+            try {
+                inFlight.get();
+                // the installation could have been performed by another agent
+                // that mounts the same file system, return our own view of it
+                if (home.act(integrity)) {
+                    log.getLogger().println(Messages.InstallationLock_waited(System.currentTimeMillis() - start, home));
+                    return home;
+                }
+            } catch (ExecutionException e) {
+                // the concurrent installation has failed, try on our own
+            }
+        }
+    }
+
+    /**
+     * Identifies the tool home by the file system that contains it instead
+     * of by the node, so agents that share the tool folder get the same key.
+     */
+    private static String getKey(Node node, FilePath home) throws IOException, InterruptedException {
+        FilePath parent = home.getParent();
+        if (parent == null) {
+            return node.getNodeName() + '@' + home.getRemote();
+        }
+        Map<String, String> ids = FILESYSTEM_IDS.computeIfAbsent(home.getChannel(), c -> new ConcurrentHashMap<>());
+        String fsId = ids.get(parent.getRemote());
+        if (fsId == null) {
+            fsId = parent.child(FILESYSTEM_ID_FILENAME).act(new FileSystemId());
+            ids.put(parent.getRemote(), fsId);
+        }
+        return fsId + '/' + home.getName();
+    }
+
+    private static FilePath installUnderLockFile(FilePath home, TaskListener log, Installation installation, MasterToSlaveFileCallable<Boolean> integrity, long start) throws IOException, InterruptedException {
+        FilePath lock = home.sibling(home.getName() + ".lock");
+        String owner = UUID.randomUUID().toString();
+
+        boolean waiting = false;
+        long lastSeen = 0;
+        long lastChange = System.currentTimeMillis();
+        long lease;
+        while ((lease = lock.act(new Acquire(owner))) != 0) {
+            if (!waiting) {
+                log.getLogger().println(Messages.InstallationLock_waitingLockFile(lock));
+                waiting = true;
+            }
+            // the lease is measured with the local clock to be safe from
+            // clock skew between the agents and the file server
+            long now = System.currentTimeMillis();
+            if (lease != lastSeen) {
+                lastSeen = lease;
+                lastChange = now;
+            } else if (now - lastChange > LEASE_TIMEOUT) {
+                // owner process died without release the lock
+                lock.act(new Break(lease));
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        if (waiting) {
+            log.getLogger().println(Messages.InstallationLock_waited(System.currentTimeMillis() - start, home));
+            // the other process could have died while installing, otherwise its result is reused
+            if (home.act(integrity)) {
+                lock.act(new Release(owner));
+                return home;
+            }
+        }
+
+        long renewInterval = Math.max(LEASE_TIMEOUT / 3, 1);
+        ScheduledFuture<?> renewal = Timer.get().scheduleWithFixedDelay(() -> {
+            try {
+                lock.act(new Renew(owner));
+            } catch (IOException | InterruptedException e) { // NOSONAR
+                // retry on next schedule, the lease is long enough
+            }
+        }, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+        try {
+            return installation.install();
+        } finally {
+            renewal.cancel(false);
+            lock.act(new Release(owner));
+        }
+    }
+
+    /**
+     * Reads the file system identifier from the marker file, creating it when
+     * missing.
+     */
+    private static final class FileSystemId extends MasterToSlaveFileCallable<String> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String invoke(File f, VirtualChannel channel) throws IOException {
+            Path marker = f.toPath();
+            Path parent = marker.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                Path tmp = Files.createTempFile(parent, FILESYSTEM_ID_FILENAME, ".tmp");
+                try {
+                    Files.write(tmp, UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+                    // atomic on NFS too, the first agent wins
+                    Files.createLink(marker, tmp);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException | UnsupportedOperationException e) { // NOSONAR
+                // created by another agent or hard links are not supported
+                if (!Files.exists(marker)) {
+                    Files.write(marker, UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    /**
+     * Tries to create the lock file, returns 0 when acquired otherwise the
+     * last time the owner renewed its lease.
+     */
+    private static final class Acquire extends MasterToSlaveFileCallable<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final String owner;
+
+        Acquire(String owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Long invoke(File f, VirtualChannel channel) throws IOException {
+            Path lock = f.toPath();
+            Path parent = lock.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                Files.write(Files.createFile(lock), owner.getBytes(StandardCharsets.UTF_8));
+                return 0L;
+            } catch (FileAlreadyExistsException e) {
+                try {
+                    return Math.max(Files.getLastModifiedTime(lock).toMillis(), 1L);
+                } catch (NoSuchFileException ex) {
+                    // released in the meantime
+                    return 1L;
+                }
+            }
+        }
+    }
+
+    private static final class Renew extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final String owner;
+
+        Renew(String owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            Path lock = f.toPath();
+            try {
+                if (owner.equals(new String(Files.readAllBytes(lock), StandardCharsets.UTF_8))) {
+                    Files.setLastModifiedTime(lock, FileTime.fromMillis(System.currentTimeMillis()));
+                }
+            } catch (NoSuchFileException e) {
+                // broken by a waiter, nothing to renew
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes a lock file whose lease has expired, unless it was renewed in the
+     * meantime.
+     */
+    private static final class Break extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final long lease;
+
+        Break(long lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            Path lock = f.toPath();
+            try {
+                if (Files.getLastModifiedTime(lock).toMillis() == lease) {
+                    Files.delete(lock);
+                }
+            } catch (NoSuchFileException e) {
+                // released in the meantime
+            }
+            return null;
+        }
+    }
+
+    private static final class Release extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final String owner;
+
+        Release(String owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            Path lock = f.toPath();
+            try {
+                if (owner.equals(new String(Files.readAllBytes(lock), StandardCharsets.UTF_8))) {
+                    Files.delete(lock);
+                }
+            } catch (NoSuchFileException e) {
+                // already removed as stale
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Cheap integrity check of an installation made by someone else, when the
+     * installation is marked as complete but the executable is missing the
+     * mark is removed so that the installation is performed again.
+     */
+    /* package */ static final class CheckIntegrity extends MasterToSlaveFileCallable<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Boolean invoke(File home, VirtualChannel channel) throws IOException {
+            File installedFrom = new File(home, ".installedFrom");
+            if (!installedFrom.isFile()) {
+                return false;
+            }
+            if (new File(home, "bin/node").isFile() || new File(home, "node.exe").isFile()) {
+                return true;
+            }
+            Files.deleteIfExists(installedFrom.toPath());
+            return false;
+        }
+    }
+
+}
@@ -23,6 +23,8 @@
  */
 package jenkins.plugins.nodejs.tools;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import jenkins.plugins.nodejs.tools.pathresolvers.IndexInstallerPathResolver;
 import jenkins.plugins.nodejs.tools.pathresolvers.LatestInstallerPathResolver;
 
 /**
@@ -45,6 +47,27 @@ public interface InstallerPathResolver {
      */
     String resolvePathFor(String version, Platform platform, CPU cpu);
 
+    /**
+     * Returns if an installer is distributed for the given parameters.
+     *
+     * @param version
+     *            string version of an installable unit
+     * @param platform
+     *            of the node where this installable is designed
+     * @param cpu
+     *            of the node where this installable is designed
+     * @return {@code true} if {@link #resolvePathFor(String, Platform, CPU)}
+     *         resolves a path for the given specifics
+     */
+    default boolean supports(String version, Platform platform, CPU cpu) {
+        try {
+            resolvePathFor(version, platform, cpu);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Factory that return lookup for an implementation of {@link InstallerPathResolver}.
      */
@@ -65,6 +88,25 @@ public interface InstallerPathResolver {
             }
         }
 
+        /**
+         * Return an implementation adapt for the given installable that
+         * looks up the installers published in the given distribution site.
+         *
+         * @param id an installable
+         * @param distURL the distribution site of the installable, like
+         *        {@code https://nodejs.org/dist/}
+         * @return an instance of {@link InstallerPathResolver}
+         * @throws IllegalArgumentException
+         *             in case the given installable is not supported.
+         */
+        public static InstallerPathResolver findResolverFor(String id, @CheckForNull String distURL) {
+            InstallerPathResolver resolver = findResolverFor(id);
+            if (distURL != null && IndexInstallerPathResolver.isEnabled()) {
+                resolver = new IndexInstallerPathResolver(distURL);
+            }
+            return resolver;
+        }
+
         public static boolean isVersionBlacklisted(String version){
             NodeJSVersion nodeJSVersion = NodeJSVersion.parseVersion(version);
             return new NodeJSVersionRange("[0, 0.8.6)").includes(nodeJSVersion) || NodeJSVersion.parseVersion("0.9.0").equals(nodeJSVersion);
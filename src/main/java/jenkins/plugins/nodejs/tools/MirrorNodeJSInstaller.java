@@ -115,16 +115,17 @@ public class MirrorNodeJSInstaller extends NodeJSInstaller {
         return installable != null ? new MirrorNodeJSInstallable(installable) : installable;
     }
 
-    protected final class MirrorNodeJSInstallable extends NodeSpecificInstallable {
+    protected final class MirrorNodeJSInstallable extends PlatformSpecificInstallable {
 
         public MirrorNodeJSInstallable(Installable inst) {
             super(inst);
         }
 
         @Override
-        public NodeSpecificInstallable forNode(Node node, TaskListener log) throws IOException {
-            InstallerPathResolver installerPathResolver = InstallerPathResolver.Factory.findResolverFor(id);
-            String relativeDownloadPath = installerPathResolver.resolvePathFor(id, ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node));
+        public NodeSpecificInstallable forPlatform(@NonNull Platform platform, @NonNull CPU cpu) throws IOException {
+            // the index of mirrors that require credentials is not looked up
+            InstallerPathResolver installerPathResolver = InstallerPathResolver.Factory.findResolverFor(id, credentialsId == null ? mirrorURL : null);
+            String relativeDownloadPath = installerPathResolver.resolvePathFor(id, platform, cpu);
             String baseURL;
             if (mirrorURL.endsWith("/")) {
                 baseURL = url.replace(PUBLIC_NODEJS_URL, mirrorURL.substring(0, mirrorURL.length() - 1));
@@ -0,0 +1,472 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.init.Terminator;
+import hudson.model.AbstractBuild;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.LogTaskListener;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.NodeJSUtils;
+
+/**
+ * Installs NodeJS installations on nodes in background.
+ * <p>
+ * Installations run on a shared pool of at most
+ * {@code NodeJSInstaller.background.concurrency} threads (4 by default),
+ * stopped when Jenkins terminates. The status of the last installation of
+ * each tool is kept per computer for at least one hour after it has
+ * completed.
+ * <p>
+ * Builds could also start an installation asynchronously, for example while
+ * the SCM checkout is in progress, and later await for it. Asynchronous
+ * installations belong to the build that started them and are discarded when
+ * it completes.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+@Extension
+public final class NodeJSBackgroundInstaller {
+
+    private static final Logger LOGGER = Logger.getLogger(NodeJSBackgroundInstaller.class.getName());
+    private static final int CONCURRENCY = Integer.getInteger(NodeJSInstaller.class.getName() + ".background.concurrency", 4); // NOSONAR
+    private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * State of a background installation.
+     */
+    public enum State {
+        QUEUED, RUNNING, INSTALLED, FAILED
+    }
+
+    /**
+     * Status of the installation of a tool on a computer.
+     */
+    public static final class Status {
+        private final String installation;
+        private final boolean blocking;
+        private final long queuedTime = System.currentTimeMillis();
+        private volatile State state = State.QUEUED;
+        private volatile long startTime;
+        private volatile long endTime;
+        private volatile String message;
+
+        private Status(String installation, boolean blocking) {
+            this.installation = installation;
+            this.blocking = blocking;
+        }
+
+        public String getInstallation() {
+            return installation;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public boolean isDone() {
+            return state == State.INSTALLED || state == State.FAILED;
+        }
+
+        /**
+         * Returns if builds should wait this installation before start on the
+         * computer.
+         *
+         * @return {@code true} if builds should wait the installation
+         */
+        public boolean isBlocking() {
+            return blocking;
+        }
+
+        public long getQueuedTime() {
+            return queuedTime;
+        }
+
+        @CheckForNull
+        public String getMessage() {
+            return message;
+        }
+
+        public long getDuration() {
+            if (startTime == 0) {
+                return 0;
+            }
+            return (endTime != 0 ? endTime : System.currentTimeMillis()) - startTime;
+        }
+
+        public String getDurationString() {
+            return Util.getTimeSpanString(getDuration());
+        }
+    }
+
+    private static final ThreadLocal<Boolean> BACKGROUND = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Map<String, Map<String, Status>> statuses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Status>> running = new ConcurrentHashMap<>();
+    private final Map<String, AsyncInstallation> asyncInstallations = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+
+    private static final class AsyncInstallation {
+        private final CompletableFuture<NodeJSInstallation> future;
+        private final ByteArrayOutputStream log;
+        private final long startTime = System.currentTimeMillis();
+
+        AsyncInstallation(CompletableFuture<NodeJSInstallation> future, ByteArrayOutputStream log) {
+            this.future = future;
+            this.log = log;
+        }
+    }
+
+    /**
+     * Returns the max number of installations that run at the same time.
+     *
+     * @return the size of the installation pool
+     */
+    public static int getConcurrency() {
+        return Math.max(1, CONCURRENCY);
+    }
+
+    public static NodeJSBackgroundInstaller get() {
+        return ExtensionList.lookupSingleton(NodeJSBackgroundInstaller.class);
+    }
+
+    /**
+     * Stops the running installations when Jenkins shuts down.
+     */
+    @Terminator
+    public static void shutdown() {
+        ExecutorService executor = get().executor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules the installation of the given tool on the computer. If the
+     * same installation is already scheduled the pending one is returned.
+     *
+     * @param computer where install the tool
+     * @param installation the tool to install
+     * @param blocking if builds should wait the installation before start on
+     *        the computer
+     * @return the status of the installation once done
+     */
+    public CompletableFuture<Status> install(@NonNull Computer computer, @NonNull NodeJSInstallation installation, boolean blocking) {
+        String key = computer.getName() + '/' + installation.getName();
+        CompletableFuture<Status> future = new CompletableFuture<>();
+        CompletableFuture<Status> pending = running.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+
+        Status status = new Status(installation.getName(), blocking);
+        statuses.compute(computer.getName(), (k, computerStatuses) -> {
+            Map<String, Status> result = computerStatuses != null ? computerStatuses : new ConcurrentHashMap<>();
+            result.put(installation.getName(), status);
+            return result;
+        });
+        getExecutor().execute(() -> {
+            try {
+                install(computer, installation, status);
+            } finally {
+                running.remove(key, future);
+                future.complete(status);
+                // out of the queue maintenance, that reads the status of every computer
+                evict();
+            }
+        });
+        return future;
+    }
+
+    private void install(Computer computer, NodeJSInstallation installation, Status status) {
+        status.startTime = System.currentTimeMillis();
+        status.state = State.RUNNING;
+        BACKGROUND.set(Boolean.TRUE);
+        try {
+            Node node = computer.getNode();
+            if (node == null || computer.isOffline()) {
+                throw new IllegalStateException(Messages.SystemTools_nodeNotAvailable(computer.getName()));
+            }
+            installation.forNode(node, new LogTaskListener(LOGGER, Level.FINE));
+            status.state = State.INSTALLED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.message = e.getMessage();
+            status.state = State.FAILED;
+        } catch (Exception e) { // NOSONAR
+            LOGGER.log(Level.WARNING, "Failed to install " + installation.getName() + " on " + computer.getName(), e);
+            status.message = e.getMessage();
+            status.state = State.FAILED;
+        } finally {
+            BACKGROUND.remove();
+            status.endTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Returns if the current thread is installing a tool in background.
+     *
+     * @return {@code true} if called from a background installation
+     */
+    public static boolean isBackgroundThread() {
+        return BACKGROUND.get();
+    }
+
+    /**
+     * Returns the status of the tools installed in background on the given
+     * computer.
+     *
+     * @param computer the computer
+     * @return the list of installation status
+     */
+    @NonNull
+    public List<Status> getStatus(@NonNull Computer computer) {
+        Map<String, Status> computerStatuses = statuses.get(computer.getName());
+        if (computerStatuses == null) {
+            return Collections.emptyList();
+        }
+        List<Status> result = new ArrayList<>(computerStatuses.values());
+        result.sort((s1, s2) -> s1.installation.compareTo(s2.installation));
+        return result;
+    }
+
+    /**
+     * Returns if a blocking installation of any of the given tools is in
+     * progress on the given computer for less than the given timeout.
+     *
+     * @param computer the computer
+     * @param installations the names of the tools the build needs
+     * @param timeout the max time to wait for an installation in milliseconds
+     * @return {@code true} if the build should not start yet on the computer
+     */
+    public boolean isInstalling(@NonNull Computer computer, @NonNull Set<String> installations, long timeout) {
+        Map<String, Status> computerStatuses = statuses.get(computer.getName());
+        if (computerStatuses == null || installations.isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (String installation : installations) {
+            Status status = computerStatuses.get(installation);
+            if (status != null && status.blocking && !status.isDone() && now - status.queuedTime < timeout) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Completed installations are kept for a while to be shown on the agent page,
+     * evicted each time an installation starts or completes.
+     */
+    private void evict() {
+        long expiration = System.currentTimeMillis() - RETENTION;
+        for (String computer : statuses.keySet()) {
+            statuses.computeIfPresent(computer, (k, computerStatuses) -> {
+                computerStatuses.values().removeIf(status -> status.isDone() && status.endTime != 0 && status.endTime < expiration);
+                return computerStatuses.isEmpty() ? null : computerStatuses;
+            });
+        }
+        // started by builds that have not completed yet
+        asyncInstallations.values().removeIf(pending -> pending.future.isDone() && pending.startTime < expiration);
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(getConcurrency(), new NamingThreadFactory(new DaemonThreadFactory(), "NodeJSBackgroundInstaller"));
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static String getKey(Run<?, ?> run, Node node, NodeJSInstallation installation) {
+        return getKeyPrefix(run) + node.getNodeName() + '/' + installation.getName();
+    }
+
+    private static String getKeyPrefix(Run<?, ?> run) {
+        // '@' is not allowed in job names
+        return run.getExternalizableId() + '@';
+    }
+
+    /**
+     * Starts the installation of the given tool on the node without waiting
+     * for it. If the same installation has been already started by the build
+     * and not yet awaited, the pending one is returned.
+     *
+     * @param run the build that will await the installation
+     * @param node where install the tool
+     * @param installation the tool to install
+     * @return the tool installation for the node
+     * @see #await(Run, Node, NodeJSInstallation, TaskListener)
+     */
+    public CompletableFuture<NodeJSInstallation> installAsync(@NonNull Run<?, ?> run, @NonNull Node node, @NonNull NodeJSInstallation installation) {
+        evict();
+        String key = getKey(run, node, installation);
+        AsyncInstallation pending = asyncInstallations.get(key);
+        if (pending != null && !pending.future.isCompletedExceptionally()) {
+            return pending.future;
+        }
+
+        // the log is replayed in the build that awaits the installation
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        CompletableFuture<NodeJSInstallation> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return installation.forNode(node, new StreamTaskListener(log, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, Computer.threadPoolForRemoting);
+        asyncInstallations.put(key, new AsyncInstallation(future, log));
+        return future;
+    }
+
+    /**
+     * Returns the given tool installed on the node. If an installation has
+     * been started by the build with
+     * {@link #installAsync(Run, Node, NodeJSInstallation)} waits for it,
+     * otherwise the tool is installed synchronously.
+     *
+     * @param run the build that uses the tool
+     * @param node where the tool is installed
+     * @param installation the tool
+     * @param listener the build log
+     * @return the tool installation for the node
+     * @throws IOException if the installation fails
+     * @throws InterruptedException if interrupted while installing or waiting
+     */
+    public NodeJSInstallation await(@NonNull Run<?, ?> run, @NonNull Node node, @NonNull NodeJSInstallation installation, @NonNull TaskListener listener) throws IOException, InterruptedException {
+        AsyncInstallation pending = asyncInstallations.remove(getKey(run, node, installation));
+        if (pending == null) {
+            return installation.forNode(node, listener);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            NodeJSInstallation result = pending.future.get();
+            listener.getLogger().write(pending.log.toByteArray());
+            if (!isIntact(node, result)) {
+                // removed since the installation has completed, install it again
+                return installation.forNode(node, listener);
+            }
+            listener.getLogger().println(Messages.NodeJSBackgroundInstaller_awaited(installation.getName(), System.currentTimeMillis() - start));
+            return result;
+        } catch (ExecutionException e) {
+            listener.getLogger().write(pending.log.toByteArray());
+            // try again with the build log
+            return installation.forNode(node, listener);
+        }
+    }
+
+    /*
+     * Tells if the home of the installation is still on the node, and complete
+     * when installed from an archive.
+     */
+    private static boolean isIntact(Node node, NodeJSInstallation installation) throws IOException, InterruptedException {
+        FilePath root = node.getRootPath();
+        String home = installation.getHome();
+        if (root == null || home == null) {
+            return false;
+        }
+        FilePath toolHome = root.child(home);
+        if (!toolHome.isDirectory()) {
+            return false;
+        }
+        return !toolHome.child(".installedFrom").exists() || toolHome.act(new InstallationLock.CheckIntegrity());
+    }
+
+    /**
+     * Starts the installations of freestyle builds before the SCM checkout,
+     * the NodeJS build wrapper and builders await them.
+     */
+    @Extension
+    public static final class CheckoutOverlap extends RunListener<AbstractBuild<?, ?>> {
+
+        @Override
+        public void onStarted(AbstractBuild<?, ?> build, TaskListener listener) {
+            Node node = build.getBuiltOn();
+            if (node == null) {
+                return;
+            }
+            for (String name : NodeJSDemandAnalyzer.getRequirements(build.getParent()).keySet()) {
+                NodeJSInstallation installation = NodeJSUtils.getNodeJS(name);
+                if (installation != null) {
+                    get().installAsync(build, node, installation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the asynchronous installations of completed builds, including
+     * those never awaited.
+     */
+    @Extension
+    public static final class AsyncInstallationsCleanup extends RunListener<Run<?, ?>> {
+
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            String prefix = getKeyPrefix(run);
+            get().asyncInstallations.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.FilePath;
+import hudson.FilePath.TarCompression;
+import hudson.Util;
+import hudson.model.TaskListener;
+import hudson.tools.DownloadFromUrlInstaller.Installable;
+import hudson.tools.InstallSourceProperty;
+import hudson.tools.ToolInstaller;
+import hudson.util.DirScanner;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+
+/**
+ * Exports the tool folder that {@link NodeJSInstaller} would produce on an
+ * agent of the given platform and architecture, so that it could be baked
+ * into agent images.
+ * <p>
+ * The bundle is a tar.gz archive relative to the agent root folder. It
+ * contains the NodeJS archive from the controller cache, the
+ * {@code .installedFrom} record and, when the controller has the same
+ * platform and architecture, the package managers prepared with Corepack and
+ * the global npm packages with their {@code .npmPackages} record, in the tool
+ * home or in the shared global prefix beside it.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSBundleExporter {
+
+    private final NodeJSInstallation installation;
+    private final Platform platform;
+    private final CPU cpu;
+
+    public NodeJSBundleExporter(@NonNull NodeJSInstallation installation, @NonNull Platform platform, @NonNull CPU cpu) {
+        this.installation = installation;
+        this.platform = platform;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Writes the bundle to the given stream.
+     *
+     * @param out where write the tar.gz bundle, it is not closed
+     * @param skipPackages {@code true} to not install the global npm packages
+     *        and the Corepack package managers, the agent will install them at
+     *        first use
+     * @param log where report progress
+     * @throws IOException if the bundle could not be built
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public void export(@NonNull OutputStream out, boolean skipPackages, @NonNull TaskListener log) throws IOException, InterruptedException {
+        NodeJSInstaller installer = getInstaller();
+        Installable installable = installer.getInstallable();
+        if (!(installable instanceof NodeJSInstaller.PlatformSpecificInstallable)) {
+            throw new IOException("Invalid tool ID " + installer.id);
+        }
+        installable = (Installable) ((NodeJSInstaller.PlatformSpecificInstallable) installable).forPlatform(platform, cpu);
+
+        File cache = NodeJSInstaller.getCacheFile(platform, cpu, installer.id);
+        if (!cache.isFile()) {
+            throw new IOException(Messages.NodeJSBundleExporter_missingCache(installer.id, platform, cpu));
+        }
+
+        File tmp = Files.createTempDirectory("nodejs-bundle").toFile();
+        try {
+            FilePath root = new FilePath(tmp);
+            // same location of ToolInstaller#preferredLocation
+            FilePath home = root.child("tools").child(sanitize(NodeJSInstallation.class.getName())).child(sanitize(installation.getName()));
+            log.getLogger().println(Messages.NodeJSInstaller_installFromCache(cache, home, Jenkins.get().getDisplayName()));
+            try (InputStream in = Files.newInputStream(cache.toPath())) {
+                home.untarFrom(in, TarCompression.GZIP);
+            }
+            // leave a record for the up-to-date check of the agent
+            home.child(".installedFrom").write(installable.url, "UTF-8");
+
+            boolean samePlatform = Platform.current() == platform && CPU.current() == cpu;
+            FilePath corepackHome = installer.getCorepackHome(home);
+            if (corepackHome != null && !skipPackages) {
+                if (!samePlatform) {
+                    throw new IOException(Messages.NodeJSBundleExporter_packagesPlatformMismatch(platform, cpu));
+                }
+                // same step of the installer, agents do not download the package managers at first use
+                installer.prepareCorepack(home, Jenkins.get(), log);
+                if (!corepackHome.exists()) {
+                    throw new IOException(Messages.NodeJSBundleExporter_corepackFailed(installer.getCorepackPackageManagers()));
+                }
+            }
+
+            if (StringUtils.isNotBlank(installer.getNpmPackages()) && !skipPackages) {
+                if (!samePlatform) {
+                    throw new IOException(Messages.NodeJSBundleExporter_packagesPlatformMismatch(platform, cpu));
+                }
+                installer.refreshGlobalPackages(Jenkins.get(), log, home);
+                // shared global packages are installed beside the tool home, in the bundle too
+                FilePath prefix = installer.getGlobalPrefix(home, platform, cpu);
+                if (prefix == null) {
+                    prefix = home;
+                }
+                if (!prefix.child(NodeJSInstaller.NPM_PACKAGES_RECORD_FILENAME).exists()) {
+                    throw new IOException(Messages.NodeJSBundleExporter_packagesFailed(installer.getNpmPackages()));
+                }
+            }
+
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            // the file system identifier belongs to the controller, agents built from the image must get their own
+            root.tar(gzip, new DirScanner.Glob("**", "**/" + InstallationLock.FILESYSTEM_ID_FILENAME));
+            gzip.finish();
+            gzip.flush();
+        } finally {
+            Util.deleteRecursive(tmp);
+        }
+    }
+
+    private NodeJSInstaller getInstaller() throws IOException {
+        InstallSourceProperty sources = installation.getProperties().get(InstallSourceProperty.class);
+        if (sources != null) {
+            for (ToolInstaller installer : sources.installers) {
+                if (installer instanceof NodeJSInstaller) {
+                    return (NodeJSInstaller) installer;
+                }
+            }
+        }
+        throw new IOException(Messages.NodeJSBundleExporter_noInstaller(installation.getName()));
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]+", "_");
+    }
+
+}
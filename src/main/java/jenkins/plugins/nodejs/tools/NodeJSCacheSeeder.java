@@ -0,0 +1,271 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.FilePath;
+import hudson.FilePath.TarCompression;
+import hudson.model.TaskListener;
+import hudson.tools.DownloadFromUrlInstaller.Installable;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.plugins.nodejs.Messages;
+
+/**
+ * Seeds the controller cache of NodeJS archives from a directory that contains
+ * the original archives downloaded from nodejs.org.
+ * <p>
+ * Each archive is verified against the SHA-256 declared in the
+ * {@code SHASUMS256.txt} files found in the same directory tree, unpacked and
+ * repacked in the same format produced by {@link NodeJSInstaller} under
+ * {@code JENKINS_HOME/caches/nodejs/<platform>/<cpu>/<id>.tar.gz}, with the
+ * {@code .installedFrom} record of the URL the installer would download from.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSCacheSeeder {
+
+    private static final String DEFAULT_DIST_URL = "https://nodejs.org/dist";
+    private static final String SHASUMS_FILENAME = "SHASUMS256.txt";
+    private static final Pattern ARCHIVE_PATTERN = Pattern.compile("node-v(\\d+\\.\\d+\\.\\d+)-.+\\.(tar\\.gz|zip)");
+    private static final Pattern SHASUM_LINE = Pattern.compile("([0-9a-fA-F]{64})\\s+\\*?(\\S+)");
+
+    private final File source;
+    private final int parallelism;
+
+    /**
+     * Result of a seed operation.
+     */
+    public static final class Result {
+        private final AtomicInteger seeded = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        public int getSeeded() {
+            return seeded.get();
+        }
+
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+    }
+
+    public NodeJSCacheSeeder(@NonNull File source) {
+        this(source, Math.min(Runtime.getRuntime().availableProcessors(), 4));
+    }
+
+    public NodeJSCacheSeeder(@NonNull File source, int parallelism) {
+        this.source = source;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Converts all valid archives in the source directory into cache entries.
+     *
+     * @param log where report progress
+     * @return the summary of the operation
+     * @throws IOException if the source folder could not be read
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public Result seed(@NonNull TaskListener log) throws IOException, InterruptedException {
+        if (!source.isDirectory()) {
+            throw new IOException(Messages.NodeJSCacheSeeder_invalidDirectory(source));
+        }
+
+        Map<String, String> checksums = new HashMap<>();
+        List<Path> archives = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(source.toPath())) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String fileName = file.getFileName().toString();
+                if (SHASUMS_FILENAME.equals(fileName)) {
+                    checksums.putAll(readChecksums(file));
+                } else if (ARCHIVE_PATTERN.matcher(fileName).matches()) {
+                    archives.add(file);
+                }
+            });
+        }
+
+        Result result = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new NamingThreadFactory(new DaemonThreadFactory(), "NodeJSCacheSeeder"));
+        try {
+            List<Future<?>> tasks = new ArrayList<>(archives.size());
+            for (Path archive : archives) {
+                tasks.add(executor.submit(() -> seed(archive, checksums, result, log)));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    result.failed.incrementAndGet();
+                    log.error(e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.getLogger().println(Messages.NodeJSCacheSeeder_summary(result.getSeeded(), result.getSkipped(), result.getFailed()));
+        return result;
+    }
+
+    private void seed(Path archive, Map<String, String> checksums, Result result, TaskListener log) {
+        String fileName = archive.getFileName().toString();
+        Matcher matcher = ARCHIVE_PATTERN.matcher(fileName);
+        if (!matcher.matches()) {
+            return;
+        }
+        String version = matcher.group(1);
+
+        List<File> targets = new ArrayList<>();
+        InstallerPathResolver resolver;
+        try {
+            resolver = InstallerPathResolver.Factory.findResolverFor(version);
+        } catch (IllegalArgumentException e) {
+            log.getLogger().println(Messages.NodeJSCacheSeeder_unsupportedArchive(fileName));
+            result.skipped.incrementAndGet();
+            return;
+        }
+        for (Platform platform : Platform.values()) {
+            for (CPU cpu : CPU.values()) {
+                // skip combinations not distributed by nodejs.org
+                if (resolver.supports(version, platform, cpu) && fileName.equals(resolver.resolvePathFor(version, platform, cpu))) {
+                    targets.add(NodeJSInstaller.getCacheFile(platform, cpu, version));
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            log.getLogger().println(Messages.NodeJSCacheSeeder_unsupportedArchive(fileName));
+            result.skipped.incrementAndGet();
+            return;
+        }
+
+        String expectedChecksum = checksums.get(fileName);
+        if (expectedChecksum == null) {
+            log.error(Messages.NodeJSCacheSeeder_missingChecksum(fileName));
+            result.failed.incrementAndGet();
+            return;
+        }
+
+        try {
+            String actualChecksum = ToolsUtils.sha256(archive);
+            if (!expectedChecksum.equalsIgnoreCase(actualChecksum)) {
+                log.error(Messages.NodeJSCacheSeeder_checksumMismatch(fileName, expectedChecksum, actualChecksum));
+                result.failed.incrementAndGet();
+                return;
+            }
+
+            FilePath tmp = new FilePath(Files.createTempDirectory("nodejs-seed").toFile());
+            try {
+                FilePath base = unpack(archive, tmp);
+                // the same record the installer leaves, restored homes pass the up-to-date check
+                base.child(".installedFrom").write(getInstallableURL(version) + fileName, "UTF-8");
+                for (File target : targets) {
+                    NodeJSInstaller.buildCache(base, target);
+                }
+            } finally {
+                tmp.deleteRecursive();
+            }
+            log.getLogger().println(Messages.NodeJSCacheSeeder_seeded(fileName, targets.size()));
+            result.seeded.incrementAndGet();
+        } catch (IOException e) {
+            log.error(Messages.NodeJSCacheSeeder_failed(fileName, e.getMessage()));
+            result.failed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.failed.incrementAndGet();
+        }
+    }
+
+    /*
+     * The version folder the installer downloads from, as published by the update center.
+     */
+    private static String getInstallableURL(String version) throws IOException {
+        for (Installable installable : ToolsUtils.getInstallable()) {
+            if (version.equals(installable.id) && installable.url != null) {
+                return StringUtils.appendIfMissing(installable.url, "/");
+            }
+        }
+        // air-gapped controllers could have no update center data
+        return DEFAULT_DIST_URL + "/v" + version + "/";
+    }
+
+    private FilePath unpack(Path archive, FilePath target) throws IOException, InterruptedException {
+        FilePath source = new FilePath(archive.toFile());
+        if (archive.getFileName().toString().toLowerCase(Locale.ENGLISH).endsWith(".zip")) {
+            source.unzip(target);
+        } else {
+            source.untar(target, TarCompression.GZIP);
+        }
+
+        // nodejs.org archives have a single root folder named as the archive
+        List<FilePath> children = target.list();
+        if (children.size() == 1 && children.get(0).isDirectory()) {
+            return children.get(0);
+        }
+        return target;
+    }
+
+    private static Map<String, String> readChecksums(Path file) {
+        Map<String, String> checksums = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Matcher matcher = SHASUM_LINE.matcher(line.trim());
+                if (matcher.matches()) {
+                    checksums.put(matcher.group(2), matcher.group(1));
+                }
+            }
+        } catch (IOException e) {
+            // an unreadable checksum file cause the verification of its archives to fail
+        }
+        return checksums;
+    }
+
+}
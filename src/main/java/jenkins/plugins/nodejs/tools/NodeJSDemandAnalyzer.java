@@ -0,0 +1,256 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.model.AbstractProject;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.Project;
+import hudson.model.TaskListener;
+import hudson.model.labels.LabelAtom;
+import hudson.tasks.BuildWrapper;
+import hudson.tasks.Builder;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.NodeJSBuildWrapper;
+import jenkins.plugins.nodejs.NodeJSCommandInterpreter;
+import jenkins.plugins.nodejs.NodeJSUtils;
+
+/**
+ * Forecasts on which labels the NodeJS installations are needed and installs
+ * them on idle agents that match, so that installations happen off the
+ * critical path of builds.
+ * <p>
+ * The demand is built from the freestyle job configurations (build wrappers
+ * and builders) together with their label assignments, and from the
+ * installations actually resolved by builds, pipelines included, in the last
+ * {@code NodeJSInstaller.demand.usageDays} days (7 by default).
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+@Extension
+public class NodeJSDemandAnalyzer extends AsyncPeriodicWork {
+    private static final Logger LOGGER = Logger.getLogger(NodeJSDemandAnalyzer.class.getName());
+
+    private static final String PREFIX = NodeJSInstaller.class.getName() + ".demand.";
+    private static final boolean DISABLED = Boolean.getBoolean(PREFIX + "disable"); // NOSONAR
+    private static final long PERIOD_MINUTES = Long.getLong(PREFIX + "periodMinutes", 60); // NOSONAR
+    private static final long USAGE_DAYS = Long.getLong(PREFIX + "usageDays", 7); // NOSONAR
+
+    /**
+     * Label expression used when the demand is not bound to any label.
+     */
+    /* package */ static final String ANY_LABEL = "";
+
+    /**
+     * installation name -> label expression -> last time used.
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<String, Long>> USAGES = new ConcurrentHashMap<>();
+
+    public NodeJSDemandAnalyzer() {
+        super("NodeJS demand analyzer");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(Math.max(1, PERIOD_MINUTES));
+    }
+
+    /**
+     * Records that a build has used the given installation on the node.
+     *
+     * @param installation the installation name
+     * @param node where the installation has been used
+     */
+    public static void recordUsage(@CheckForNull String installation, @NonNull Node node) {
+        if (installation == null || NodeJSBackgroundInstaller.isBackgroundThread()) {
+            // installations made to warm agents are not a demand
+            return;
+        }
+        USAGES.computeIfAbsent(installation, k -> new ConcurrentHashMap<>()).put(toExpression(node), System.currentTimeMillis());
+    }
+
+    /**
+     * The labels of the node without its self label, agents with the same
+     * labels are likely provisioned from the same template. Nodes without
+     * labels are identified by their self label, not by any label.
+     */
+    /* package */ static String toExpression(Node node) {
+        Set<String> atoms = new TreeSet<>();
+        for (LabelAtom label : node.getAssignedLabels()) {
+            if (label != node.getSelfLabel()) {
+                atoms.add(label.getExpression());
+            }
+        }
+        if (atoms.isEmpty()) {
+            return node.getSelfLabel().getExpression();
+        }
+        return atoms.stream().collect(Collectors.joining("&&"));
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        if (DISABLED) {
+            return;
+        }
+
+        Map<String, Set<String>> demand = analyze();
+        for (Computer computer : Jenkins.get().getComputers()) {
+            Node node = computer.getNode();
+            if (node == null || computer.isOffline() || !computer.isIdle() || computer.countExecutors() == 0) {
+                continue;
+            }
+            for (Map.Entry<String, Set<String>> entry : demand.entrySet()) {
+                NodeJSInstallation installation = NodeJSUtils.getNodeJS(entry.getKey());
+                if (installation != null && matches(entry.getValue(), node) && !isWarm(computer, node, installation)) {
+                    NodeJSBackgroundInstaller.get().install(computer, installation, false);
+                }
+            }
+        }
+    }
+
+    private boolean isWarm(Computer computer, Node node, NodeJSInstallation installation) throws InterruptedException {
+        for (NodeJSBackgroundInstaller.Status status : NodeJSBackgroundInstaller.get().getStatus(computer)) {
+            if (status.getInstallation().equals(installation.getName()) && (status.getState() == NodeJSBackgroundInstaller.State.QUEUED
+                    || status.getState() == NodeJSBackgroundInstaller.State.RUNNING)) {
+                return true;
+            }
+        }
+        NodeJSInstaller installer = installation.getNodeJSInstaller();
+        if (installer == null) {
+            // nothing to install
+            return true;
+        }
+        try {
+            // the tool could have been installed by a build or removed by the cleaner
+            return installer.isInstalled(installation, node);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Failed to check " + installation.getName() + " on " + node.getDisplayName(), e);
+            return true;
+        }
+    }
+
+    private static boolean matches(Set<String> labels, Node node) {
+        for (String label : labels) {
+            if (ANY_LABEL.equals(label)) {
+                return true;
+            }
+            try {
+                if (Label.parseExpression(label).matches(node)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // expressions with build parameters or variables
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the demand matrix of which installations are needed on which
+     * labels.
+     *
+     * @return the label expressions where each installation is needed
+     */
+    @NonNull
+    public static Map<String, Set<String>> analyze() {
+        Map<String, Set<String>> demand = new HashMap<>();
+
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            if (job instanceof AbstractProject && ((AbstractProject<?, ?>) job).isDisabled()) {
+                continue;
+            }
+            for (Map.Entry<String, String> requirement : getRequirements(job).entrySet()) {
+                demand.computeIfAbsent(requirement.getKey(), k -> new HashSet<>()).add(requirement.getValue());
+            }
+        }
+
+        long expiration = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(USAGE_DAYS);
+        for (Map.Entry<String, ConcurrentMap<String, Long>> usage : USAGES.entrySet()) {
+            usage.getValue().values().removeIf(lastUsed -> lastUsed < expiration);
+            for (String label : usage.getValue().keySet()) {
+                demand.computeIfAbsent(usage.getKey(), k -> new HashSet<>()).add(label);
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Returns the NodeJS installations a job is configured to use.
+     *
+     * @param job the job to analyze
+     * @return the installation names with the label expression where they are
+     *         used
+     */
+    /* package */ static Map<String, String> getRequirements(Job<?, ?> job) {
+        Map<String, String> requirements = new HashMap<>();
+        if (job instanceof AbstractProject) {
+            AbstractProject<?, ?> project = (AbstractProject<?, ?>) job;
+            Label assigned = project.getAssignedLabel();
+            String label = assigned != null ? assigned.getExpression() : ANY_LABEL;
+            if (project instanceof Project) {
+                for (BuildWrapper wrapper : ((Project<?, ?>) project).getBuildWrappersList()) {
+                    if (wrapper instanceof NodeJSBuildWrapper) {
+                        add(requirements, ((NodeJSBuildWrapper) wrapper).getNodeJSInstallationName(), label);
+                    }
+                }
+                for (Builder builder : ((Project<?, ?>) project).getBuilders()) {
+                    if (builder instanceof NodeJSCommandInterpreter) {
+                        add(requirements, ((NodeJSCommandInterpreter) builder).getNodeJSInstallationName(), label);
+                    }
+                }
+            }
+        }
+        // pipeline definitions are not analyzed, their builds record the
+        // installations actually used
+        return requirements;
+    }
+
+    private static void add(Map<String, String> requirements, @CheckForNull String installation, String label) {
+        if (installation != null) {
+            requirements.put(installation, label);
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import org.jenkinsci.Symbol;
@@ -37,6 +38,7 @@ import org.kohsuke.stapler.StaplerRequest2;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.EnvVars;
 import hudson.Extension;
+import hudson.FilePath;
 import hudson.Launcher;
 import hudson.Util;
 import hudson.model.Computer;
@@ -45,6 +47,7 @@ import hudson.model.Node;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
 import hudson.slaves.NodeSpecific;
+import hudson.tools.InstallSourceProperty;
 import hudson.tools.ToolDescriptor;
 import hudson.tools.ToolInstallation;
 import hudson.tools.ToolInstaller;
@@ -66,15 +69,23 @@ public class NodeJSInstallation extends ToolInstallation implements EnvironmentS
 
     @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "calculate at runtime, its value depends on the OS where it run")
     private transient Platform platform;
+    private transient String globalPrefix;
+    private transient String corepackHome;
 
     @DataBoundConstructor
     public NodeJSInstallation(@NonNull String name, @Nullable String home, List<? extends ToolProperty<?>> properties) {
-        this(name, home, properties, null);
+        this(name, home, properties, null, null, null);
     }
 
     protected NodeJSInstallation(@NonNull String name, @Nullable String home, List<? extends ToolProperty<?>> properties, Platform platform) {
+        this(name, home, properties, platform, null, null);
+    }
+
+    protected NodeJSInstallation(@NonNull String name, @Nullable String home, List<? extends ToolProperty<?>> properties, Platform platform, @Nullable String globalPrefix, @Nullable String corepackHome) {
         super(Util.fixEmptyAndTrim(name), Util.fixEmptyAndTrim(home), properties);
         this.platform = platform;
+        this.globalPrefix = globalPrefix;
+        this.corepackHome = corepackHome;
     }
 
     /*
@@ -83,7 +94,7 @@ public class NodeJSInstallation extends ToolInstallation implements EnvironmentS
      */
     @Override
     public NodeJSInstallation forEnvironment(EnvVars environment) {
-        return new NodeJSInstallation(getName(), environment.expand(getHome()), getProperties().toList(), platform);
+        return new NodeJSInstallation(getName(), environment.expand(getHome()), getProperties().toList(), platform, globalPrefix, corepackHome);
     }
 
     /*
@@ -92,7 +103,40 @@ public class NodeJSInstallation extends ToolInstallation implements EnvironmentS
      */
     @Override
     public NodeJSInstallation forNode(@NonNull Node node, TaskListener log) throws IOException, InterruptedException {
-        return new NodeJSInstallation(getName(), translateFor(node, log), getProperties().toList(), Platform.of(node));
+        String home = translateFor(node, log);
+        // keep track of usage so unused installations could be removed from the node
+        NodeJSInstallationsCleaner.markUsed(node, home);
+        NodeJSDemandAnalyzer.recordUsage(getName(), node);
+        NodeJSLoadBalancer.recordInstalled(node, getName());
+        Platform nodePlatform = Platform.of(node);
+        String prefix = null;
+        String corepack = null;
+        NodeJSInstaller installer = getNodeJSInstaller();
+        VirtualChannel channel = node.getChannel();
+        if (installer != null && home != null && channel != null) {
+            FilePath toolHome = new FilePath(channel, home);
+            if (installer.isSharedGlobalPrefix()) {
+                FilePath globals = installer.getGlobalPrefix(toolHome, nodePlatform, ToolsUtils.getCPU(node));
+                prefix = globals != null ? globals.getRemote() : null;
+                NodeJSInstallationsCleaner.markUsed(node, prefix);
+            }
+            FilePath corepackFolder = installer.getCorepackHome(toolHome);
+            corepack = corepackFolder != null ? corepackFolder.getRemote() : null;
+        }
+        return new NodeJSInstallation(getName(), home, getProperties().toList(), nodePlatform, prefix, corepack);
+    }
+
+    @CheckForNull
+    /* package */ NodeJSInstaller getNodeJSInstaller() {
+        InstallSourceProperty sources = getProperties().get(InstallSourceProperty.class);
+        if (sources != null) {
+            for (ToolInstaller installer : sources.installers) {
+                if (installer instanceof NodeJSInstaller) {
+                    return (NodeJSInstaller) installer;
+                }
+            }
+        }
+        return null;
     }
 
     /*
@@ -108,6 +152,15 @@ public class NodeJSInstallation extends ToolInstallation implements EnvironmentS
         env.put(NodeJSConstants.ENVVAR_NODEJS_HOME, home);
         env.put(NodeJSConstants.ENVVAR_NODE_HOME, home);
         env.put(NodeJSConstants.ENVVAR_NODEJS_PATH, getBin());
+        if (globalPrefix != null) {
+            // global packages shared between installations of the same major
+            // version are only exposed, npm install -g of builds stays in the tool home
+            env.put(NodeJSConstants.ENVVAR_NODEJS_GLOBALS_PATH, getBin(getPlatformQuietly(), globalPrefix));
+        }
+        if (corepackHome != null) {
+            // package managers prepared at installation time
+            env.put(NodeJSConstants.ENVVAR_COREPACK_HOME, corepackHome);
+        }
     }
 
     /**
@@ -138,13 +191,15 @@ public class NodeJSInstallation extends ToolInstallation implements EnvironmentS
      *         Node.
      */
     private String getBin() {
-        Platform currentPlatform = null;
+        return getBin(getPlatformQuietly(), getHome());
+    }
+
+    private Platform getPlatformQuietly() {
         try {
-            currentPlatform = getPlatform();
+            return getPlatform();
         } catch (DetectionFailedException e) {
             throw new RuntimeException(e);  // NOSONAR
         }
-        return getBin(currentPlatform, getHome());
     }
 
     private static String getBin(Platform currentPlatform, String home) {
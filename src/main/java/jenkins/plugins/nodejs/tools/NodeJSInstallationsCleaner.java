@@ -0,0 +1,385 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.tools.InstallSourceProperty;
+import hudson.tools.ToolInstaller;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+
+/**
+ * Removes from agents the NodeJS installations that are no longer configured
+ * or that have not been used for a while.
+ * <p>
+ * Each time an installation is resolved for a node its tool home is marked as
+ * used. Periodically, for each online agent, the tool homes not referenced by
+ * any configured {@link NodeJSInstallation} or unused for more than
+ * {@code NodeJSInstaller.gc.unusedDays} days are deleted, together with the
+ * shared global npm prefixes of package lists no longer configured. If a disk
+ * usage target is configured the least recently used homes are deleted until
+ * the target is reached.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+@Extension
+public class NodeJSInstallationsCleaner extends AsyncPeriodicWork {
+    private static final Logger LOGGER = Logger.getLogger(NodeJSInstallationsCleaner.class.getName());
+
+    /* package */ static final String LAST_USED_FILENAME = ".lastUsed";
+    private static final String TOOLS_FOLDER = "tools";
+
+    private static final String PREFIX = NodeJSInstaller.class.getName() + ".gc.";
+    private static final long UNUSED_DAYS = Long.getLong(PREFIX + "unusedDays", 30); // NOSONAR
+    private static final long MAX_SIZE = Long.getLong(PREFIX + "maxSize", 0); // NOSONAR
+    private static final long PERIOD_HOURS = Long.getLong(PREFIX + "periodHours", 24); // NOSONAR
+    /**
+     * Avoid to touch the marker file at every build.
+     */
+    private static final long MARK_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private static final ConcurrentMap<String, Long> LAST_MARKED = new ConcurrentHashMap<>();
+
+    public NodeJSInstallationsCleaner() {
+        super("NodeJS installations cleaner");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.HOURS.toMillis(Math.max(1, PERIOD_HOURS));
+    }
+
+    /**
+     * Records that the given tool home has been used on the node.
+     *
+     * @param node where the tool home is located
+     * @param home the tool home
+     * @throws InterruptedException if interrupted while writing the marker
+     */
+    public static void markUsed(@NonNull Node node, @CheckForNull String home) throws InterruptedException {
+        FilePath rootPath = node.getRootPath();
+        if (rootPath == null || home == null || !home.startsWith(rootPath.child(TOOLS_FOLDER).getRemote())) {
+            // only installations managed by installers are collected
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String key = node.getNodeName() + '@' + home;
+        Long lastMarked = LAST_MARKED.get(key);
+        if (lastMarked != null && now - lastMarked < MARK_INTERVAL) {
+            return;
+        }
+        try {
+            FilePath toolHome = new FilePath(rootPath.getChannel(), home);
+            if (toolHome.exists()) {
+                toolHome.child(LAST_USED_FILENAME).touch(now);
+                LAST_MARKED.put(key, now);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to mark " + home + " as used on " + node.getDisplayName(), e);
+        }
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        Set<String> referenced = new HashSet<>();
+        Set<String> shared = new HashSet<>();
+        Set<String> globals = new HashSet<>();
+        for (NodeJSInstallation installation : Jenkins.get().getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).getInstallations()) {
+            if (Util.fixEmpty(installation.getHome()) == null) {
+                referenced.add(sanitize(installation.getName()));
+            }
+            InstallSourceProperty sources = installation.getProperties().get(InstallSourceProperty.class);
+            if (sources != null) {
+                for (ToolInstaller installer : sources.installers) {
+                    if (installer instanceof NodeJSInstaller && ((NodeJSInstaller) installer).isSharedInstallation()) {
+                        shared.add(((NodeJSInstaller) installer).id);
+                    }
+                    String globalPrefix = installer instanceof NodeJSInstaller ? ((NodeJSInstaller) installer).getGlobalPrefixKey() : null;
+                    if (globalPrefix != null) {
+                        globals.add(globalPrefix);
+                    }
+                }
+            }
+        }
+
+        // the file store is purged even when the installations are never collected
+        Sweep sweep = UNUSED_DAYS > 0 ? new Sweep(referenced, shared, globals, TimeUnit.DAYS.toMillis(UNUSED_DAYS), MAX_SIZE * 1024 * 1024) : null;
+        for (Computer computer : Jenkins.get().getComputers()) {
+            Node node = computer.getNode();
+            if (node == null || computer.isOffline()) {
+                continue;
+            }
+            FilePath rootPath = node.getRootPath();
+            if (rootPath == null) {
+                continue;
+            }
+
+            FilePath toolsDir = rootPath.child(TOOLS_FOLDER).child(NodeJSInstallation.class.getName());
+            try {
+                int removed = sweep != null ? toolsDir.act(sweep) : 0;
+                if (removed > 0) {
+                    listener.getLogger().println("Removed " + removed + " NodeJS installations from " + node.getDisplayName());
+                }
+                // release the blobs of removed and reinstalled installations
+                AgentFileStore store = AgentFileStore.of(node, Platform.of(node));
+                if (store != null) {
+                    store.purge();
+                }
+            } catch (IOException e) {
+                listener.error("Failed to clean NodeJS installations on " + node.getDisplayName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Same logic of ToolInstaller#preferredLocation
+     */
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]+", "_");
+    }
+
+    /* package */ static final class Sweep extends MasterToSlaveFileCallable<Integer> {
+        private static final long serialVersionUID = 1L;
+        private static final long MIN_IDLE = TimeUnit.DAYS.toMillis(1);
+
+        private final Set<String> referenced;
+        private final Set<String> shared;
+        private final Set<String> globals;
+        private final long unusedTime;
+        private final long maxSize;
+
+        Sweep(Set<String> referenced, Set<String> shared, Set<String> globals, long unusedTime, long maxSize) {
+            this.referenced = referenced;
+            this.shared = shared;
+            this.globals = globals;
+            this.unusedTime = unusedTime;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Integer invoke(File toolsDir, VirtualChannel channel) throws IOException, InterruptedException {
+            File[] homes = toolsDir.listFiles(File::isDirectory);
+            if (homes == null) {
+                return 0;
+            }
+
+            long now = System.currentTimeMillis();
+            Set<String> linked = getLinkedSharedInstallations(toolsDir, homes);
+            List<File> garbage = new ArrayList<>();
+            List<File> alive = new ArrayList<>();
+            Map<File, Long> lastUsed = new HashMap<>();
+            for (File home : homes) {
+                if (new File(toolsDir, home.getName() + ".lock").exists()) {
+                    // installation in progress
+                    continue;
+                }
+                if (home.getName().endsWith(NodeJSInstaller.NPM_REFRESH_FOLDER)) {
+                    // side prefix of a background refresh, removed by the refresh itself
+                    continue;
+                }
+                if (NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER.equals(home.getName())) {
+                    collectShared(home, linked, garbage);
+                    continue;
+                }
+                if (NodeJSInstaller.GLOBAL_PREFIXES_FOLDER.equals(home.getName())) {
+                    collectGlobals(home, now, garbage);
+                    continue;
+                }
+
+                long used = lastUsed(home, now);
+                lastUsed.put(home, used);
+                // on-demand installations are collected only when unused
+                boolean onDemand = home.getName().startsWith(NodeJSVersionResolver.AUTO_INSTALLATION_PREFIX);
+                if (!onDemand && !referenced.contains(home.getName()) || now - used > unusedTime) {
+                    garbage.add(home);
+                } else {
+                    alive.add(home);
+                }
+            }
+
+            if (maxSize > 0) {
+                long size = 0;
+                for (File home : alive) {
+                    size += FileUtils.sizeOfDirectory(home);
+                }
+                alive.sort(Comparator.comparing(lastUsed::get));
+                for (File home : alive) {
+                    if (size <= maxSize || now - lastUsed.get(home) < MIN_IDLE) {
+                        // never remove installations used recently
+                        break;
+                    }
+                    size -= FileUtils.sizeOfDirectory(home);
+                    garbage.add(home);
+                }
+            }
+
+            delete(garbage);
+            return garbage.size();
+        }
+
+        /*
+         * Tool homes built as overlay of a shared installation link its entries.
+         */
+        private Set<String> getLinkedSharedInstallations(File toolsDir, File[] homes) {
+            Path sharedFolder = new File(toolsDir, NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER).toPath().toAbsolutePath().normalize();
+            Set<String> linked = new HashSet<>();
+            for (File home : homes) {
+                if (!home.getName().startsWith(".")) {
+                    collectLinks(home, sharedFolder, linked);
+                    collectLinks(new File(home, "lib/node_modules"), sharedFolder, linked);
+                }
+            }
+            return linked;
+        }
+
+        private void collectLinks(File folder, Path sharedFolder, Set<String> linked) {
+            File[] entries = folder.listFiles();
+            if (entries == null) {
+                return;
+            }
+            for (File entry : entries) {
+                Path link = entry.toPath();
+                if (!Files.isSymbolicLink(link)) {
+                    continue;
+                }
+                try {
+                    Path target = link.getParent().resolve(Files.readSymbolicLink(link)).toAbsolutePath().normalize();
+                    if (target.startsWith(sharedFolder) && target.getNameCount() > sharedFolder.getNameCount()) {
+                        linked.add(target.getName(sharedFolder.getNameCount()).toString());
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to read the link " + link, e);
+                }
+            }
+        }
+
+        private void collectShared(File sharedFolder, Set<String> linked, List<File> garbage) {
+            File[] installations = sharedFolder.listFiles(File::isDirectory);
+            if (installations == null) {
+                return;
+            }
+            for (File installation : installations) {
+                // folder name is <id>-<platform>-<cpu>
+                String name = installation.getName();
+                int idx = name.indexOf('-');
+                String id = idx != -1 ? name.substring(0, idx) : name;
+                // overlays still linked to the installation would be left dangling
+                if (!shared.contains(id) && !linked.contains(name) && !new File(sharedFolder, name + ".lock").exists()) {
+                    garbage.add(installation);
+                }
+            }
+        }
+
+        private void collectGlobals(File globalsFolder, long now, List<File> garbage) throws IOException {
+            File[] prefixes = globalsFolder.listFiles(File::isDirectory);
+            if (prefixes == null) {
+                return;
+            }
+            for (File prefix : prefixes) {
+                if (prefix.getName().endsWith(NodeJSInstaller.NPM_REFRESH_FOLDER)) {
+                    continue;
+                }
+                if (new File(globalsFolder, prefix.getName() + ".lock").exists()) {
+                    continue;
+                }
+                // folder name is <major>-<platform>-<cpu>-<packages digest>, a changed package list leaves the old one behind
+                String name = prefix.getName();
+                String key = StringUtils.substringBefore(name, "-") + "-" + StringUtils.substringAfterLast(name, "-");
+                if (!globals.contains(key) || now - lastUsed(prefix, now) > unusedTime) {
+                    garbage.add(prefix);
+                }
+            }
+        }
+
+        private long lastUsed(File home, long now) throws IOException {
+            File marker = new File(home, LAST_USED_FILENAME);
+            if (!marker.exists()) {
+                // installations not yet tracked start from now
+                FileUtils.touch(marker);
+                return now;
+            }
+            return marker.lastModified();
+        }
+
+        private void delete(List<File> garbage) throws IOException, InterruptedException {
+            if (garbage.isEmpty()) {
+                return;
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(garbage.size(), 4));
+            try {
+                List<Future<Void>> tasks = new ArrayList<>();
+                for (File home : garbage) {
+                    tasks.add(executor.submit(() -> {
+                        Util.deleteRecursive(home);
+                        return null;
+                    }));
+                }
+                for (Future<Void> task : tasks) {
+                    task.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+}
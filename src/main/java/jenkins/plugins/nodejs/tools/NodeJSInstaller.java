@@ -23,23 +23,38 @@
  */
 package jenkins.plugins.nodejs.tools;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.zip.GZIPOutputStream;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 import org.apache.commons.io.input.CountingInputStream;
@@ -56,6 +71,7 @@ import hudson.Launcher.ProcStarter;
 import hudson.ProxyConfiguration;
 import hudson.Util;
 import hudson.FilePath.TarCompression;
+import hudson.model.Computer;
 import hudson.model.Node;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
@@ -63,11 +79,14 @@ import hudson.slaves.NodeSpecific;
 import hudson.tools.DownloadFromUrlInstaller;
 import hudson.tools.ToolInstallation;
 import hudson.util.ArgumentListBuilder;
+import hudson.util.DirScanner;
 import hudson.util.Secret;
+import hudson.util.StreamTaskListener;
 import jenkins.MasterToSlaveFileCallable;
 import jenkins.model.Jenkins;
 import jenkins.plugins.nodejs.Messages;
 import jenkins.plugins.nodejs.NodeJSConstants;
+import jenkins.plugins.nodejs.tools.pathresolvers.IndexInstallerPathResolver;
 
 /**
  * Automatic NodeJS installer from nodejs.org
@@ -81,6 +100,22 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
 
     private static boolean DISABLE_CACHE = Boolean.getBoolean(NodeJSInstaller.class.getName() + ".cache.disable");
     public static final String NPM_PACKAGES_RECORD_FILENAME = ".npmPackages";
+    /* package */ static final String NPM_REFRESH_FOLDER = ".npm-refresh";
+    private static final int SWAP_ATTEMPTS = 5;
+    /**
+     * Folder, next to the tool homes, of the global npm prefixes shared
+     * between installations of the same major version.
+     */
+    public static final String GLOBAL_PREFIXES_FOLDER = ".npm-globals";
+    /* package */ static final String COREPACK_HOME_FOLDER = ".corepack";
+    private static final String COREPACK_RECORD_FILENAME = ".prepared";
+    private static final Logger LOGGER = Logger.getLogger(NodeJSInstaller.class.getName());
+    private static final Set<String> BACKGROUND_REFRESHES = ConcurrentHashMap.newKeySet();
+    /**
+     * Folder, sibling of tool homes, that contains the installations shared by
+     * tools with the same version.
+     */
+    public static final String SHARED_INSTALLATIONS_FOLDER = ".shared";
 
     /**
      * Define the elapse time before perform a new npm install for defined
@@ -91,6 +126,11 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
     private final String npmPackages;
     private final Long npmPackagesRefreshHours;
     private boolean force32Bit;
+    private boolean sharedInstallation;
+    private boolean backgroundPackagesRefresh;
+    private boolean lockPackages;
+    private boolean sharedGlobalPrefix;
+    private String corepackPackageManagers;
 
     @DataBoundConstructor
     public NodeJSInstaller(String id, String npmPackages, long npmPackagesRefreshHours) {
@@ -113,57 +153,213 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
     @Override
     public FilePath performInstallation(ToolInstallation tool, Node node, TaskListener log) throws IOException, InterruptedException {
         FilePath expected = preferredLocation(tool, node);
-
-        Installable installable = getInstallable();
-        if (installable == null) {
-            log.getLogger().println("Invalid tool ID " + id);
+        Installable installable = getInstallable(node, log);
+        if (installable != null && isCurrent(expected, installable, node)) {
+            // nothing to install, skip the lock
             return expected;
         }
+        // avoid that concurrent executors install into the same folder
+        return InstallationLock.install(node, expected, log, () -> install(expected, installable, node, log));
+    }
 
+    @CheckForNull
+    private Installable getInstallable(Node node, TaskListener log) throws IOException, InterruptedException {
+        Installable installable = getInstallable();
         if (installable instanceof NodeSpecific) {
             installable = (Installable) ((NodeSpecific<?>) installable).forNode(node, log);
         }
+        return installable;
+    }
 
+    /*
+     * Cheap check, without lock, that the installation, the package managers and the global packages are up to date.
+     */
+    private boolean isCurrent(FilePath expected, Installable installable, Node node) throws IOException, InterruptedException {
         if (!isUpToDate(expected, installable)) {
-            File cache = getLocalCacheFile(installable, node);
-            boolean skipInstall = false;
-            if (!DISABLE_CACHE && cache.exists()) {
-                log.getLogger().println(Messages.NodeJSInstaller_installFromCache(cache, expected, node.getDisplayName()));
-                try {
-                    restoreCache(expected, cache, log);
-                    skipInstall = true;
-                } catch (IOException e) {
-                    log.error("Use of caches failed: " + e.getMessage());
-                }
+            return false;
+        }
+        FilePath corepackHome = getCorepackHome(expected);
+        if (corepackHome != null) {
+            FilePath marker = corepackHome.child(COREPACK_RECORD_FILENAME);
+            if (!marker.exists() || !String.join(" ", NpmPackagesRecord.specs(corepackPackageManagers)).equals(marker.readToString())) {
+                return false;
             }
-            if (!skipInstall) {
-                String message = installable.url + " to " + expected + " on " + node.getDisplayName();
-                boolean isMSI = installable.url.toLowerCase(Locale.ENGLISH).endsWith("msi");
-                URL installableURL = new URL(installable.url);
-    
-                if (isMSI && installIfNecessaryMSI(expected, installableURL, log, "Installing " + message)
-                        || expected.installIfNecessaryFrom(installableURL, log, "Unpacking " + message)) {
-    
-                    expected.child(".timestamp").delete(); // we don't use the timestamp
-                    FilePath base = findPullUpDirectory(expected);
-                    if (base != null && base != expected) {
-                        base.moveAllChildrenTo(expected);
-                    }
-                    // leave a record for the next up-to-date check
-                    expected.child(".installedFrom").write(installable.url, "UTF-8");
-    
-                    if (!DISABLE_CACHE) {
-                        buildCache(expected, cache);
+        }
+        if (StringUtils.isNotBlank(npmPackages)) {
+            FilePath prefix = sharedGlobalPrefix ? getGlobalPrefix(expected, ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node)) : null;
+            return areNpmPackagesUpToDate(prefix != null ? prefix : expected, npmPackages, getNpmPackagesRefreshHours());
+        }
+        return true;
+    }
+
+    /*
+     * Cheap check if the tool has been completely installed on the node, without installing it.
+     */
+    /* package */ boolean isInstalled(@NonNull ToolInstallation tool, @NonNull Node node) throws IOException, InterruptedException {
+        return preferredLocation(tool, node).child(".installedFrom").exists();
+    }
+
+    private FilePath install(FilePath expected, @CheckForNull Installable installable, Node node, TaskListener log) throws IOException, InterruptedException {
+        if (installable == null) {
+            log.getLogger().println("Invalid tool ID " + id);
+            return expected;
+        }
+
+        if (!isUpToDate(expected, installable)) {
+            Platform platform = sharedInstallation ? ToolsUtils.getPlatform(node) : null;
+            if (sharedInstallation && platform != Platform.WINDOWS) {
+                // one immutable installation per version, tools are lightweight overlays of it
+                FilePath base = getSharedLocation(expected, platform, ToolsUtils.getCPU(node));
+                final Installable sharedInstallable = installable;
+                InstallationLock.install(node, base, log, () -> {
+                    if (!isUpToDate(base, sharedInstallable)) {
+                        installArchive(base, sharedInstallable, node, log);
                     }
-                }
+                    return base;
+                });
+                log.getLogger().println(Messages.NodeJSInstaller_linkSharedInstallation(expected, base));
+                expected.act(new SharedInstallationOverlay(base.getRemote()));
+            } else {
+                installArchive(expected, installable, node, log);
             }
         }
 
+        // package managers depend on the installer, not on the version, they are never part of the cached archives
+        prepareCorepack(expected, node, log);
         refreshGlobalPackages(node, log, expected);
 
         return expected;
     }
 
+    private void installArchive(FilePath expected, Installable installable, Node node, TaskListener log) throws IOException, InterruptedException {
+        File cache = getLocalCacheFile(installable, node);
+        FilePath agentArchive = null;
+        AgentArchiveCache agentCache = DISABLE_CACHE ? null : AgentArchiveCache.of(node);
+        if (agentCache != null) {
+            agentArchive = agentCache.getArchive(ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node), id);
+        }
+
+        boolean skipInstall = false;
+        if (agentArchive != null && !agentArchive.exists() && cache.exists()) {
+            // write through, next time the tool is wiped out no transfer is needed
+            try {
+                agentCache.store(cache, agentArchive);
+            } catch (IOException e) {
+                log.error("Use of agent cache failed: " + e.getMessage());
+            }
+        }
+        if (agentArchive != null && agentArchive.exists()) {
+            log.getLogger().println(Messages.NodeJSInstaller_installFromCache(agentArchive, expected, node.getDisplayName()));
+            try {
+                agentCache.restore(agentArchive, expected);
+                skipInstall = true;
+            } catch (IOException e) {
+                log.error("Use of agent cache failed: " + e.getMessage());
+            }
+        }
+        if (!skipInstall && !DISABLE_CACHE && cache.exists()) {
+            log.getLogger().println(Messages.NodeJSInstaller_installFromCache(cache, expected, node.getDisplayName()));
+            try {
+                restoreCache(expected, cache, log);
+                skipInstall = true;
+            } catch (IOException e) {
+                log.error("Use of caches failed: " + e.getMessage());
+            }
+        }
+        if (!skipInstall) {
+            String message = installable.url + " to " + expected + " on " + node.getDisplayName();
+            boolean isMSI = installable.url.toLowerCase(Locale.ENGLISH).endsWith("msi");
+            URL installableURL = new URL(installable.url);
+
+            if (isMSI && installIfNecessaryMSI(expected, installableURL, log, "Installing " + message)
+                    || expected.installIfNecessaryFrom(installableURL, log, "Unpacking " + message)) {
+
+                expected.child(".timestamp").delete(); // we don't use the timestamp
+                FilePath base = findPullUpDirectory(expected);
+                if (base != null && base != expected) {
+                    base.moveAllChildrenTo(expected);
+                }
+                // leave a record for the next up-to-date check
+                expected.child(".installedFrom").write(installable.url, "UTF-8");
+
+                if (!DISABLE_CACHE) {
+                    buildCache(expected, cache);
+                }
+                if (agentArchive != null) {
+                    try {
+                        agentCache.store(expected, agentArchive);
+                    } catch (IOException e) {
+                        log.error("Use of agent cache failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        AgentFileStore store = AgentFileStore.of(node, ToolsUtils.getPlatform(node));
+        if (store != null) {
+            try {
+                // blobs of replaced installations are released by NodeJSInstallationsCleaner
+                long saved = store.deduplicate(expected);
+                log.getLogger().println(Messages.NodeJSInstaller_deduplicated(expected, saved / 1024));
+            } catch (IOException e) {
+                log.error("Use of agent file store failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Downloads the configured package managers into the Corepack home of the installation, so builds do not fetch them.
+     */
+    /* package */ void prepareCorepack(FilePath expected, Node node, TaskListener log) throws IOException, InterruptedException {
+        FilePath corepackHome = getCorepackHome(expected);
+        if (corepackHome == null) {
+            return;
+        }
+        List<String> managers = NpmPackagesRecord.specs(corepackPackageManagers);
+        String record = String.join(" ", managers);
+        FilePath marker = corepackHome.child(COREPACK_RECORD_FILENAME);
+        if (marker.exists() && record.equals(marker.readToString())) {
+            return;
+        }
+
+        Platform platform = ToolsUtils.getPlatform(node);
+        FilePath binFolder = expected.child(platform.binFolder);
+        FilePath corepackExe = binFolder.child(platform == Platform.WINDOWS ? "corepack.cmd" : "corepack");
+        if (!corepackExe.exists()) {
+            log.getLogger().println(Messages.NodeJSInstaller_corepackNotFound(id));
+            return;
+        }
+        log.getLogger().println(Messages.NodeJSInstaller_prepareCorepack(record, corepackHome));
+
+        ArgumentListBuilder args = new ArgumentListBuilder();
+        if (platform == Platform.WINDOWS) {
+            args.add("cmd");
+            args.add("/c");
+        }
+        args.add(corepackExe);
+        args.add("prepare");
+        args.add(managers);
+        args.add("--activate");
+
+        EnvVars env = new EnvVars();
+        env.put(NodeJSConstants.ENVVAR_NODEJS_PATH, binFolder.getRemote());
+        env.put(NodeJSConstants.ENVVAR_COREPACK_HOME, corepackHome.getRemote());
+        env.put("COREPACK_ENABLE_DOWNLOAD_PROMPT", "0");
+        try {
+            buildProxyEnvVars(env, log);
+        } catch (URISyntaxException e) {
+            log.error("Wrong proxy URL: " + e.getMessage());
+        }
+
+        int returnCode = node.createLauncher(log).launch().envs(env).cmds(args).stdout(log).join();
+        if (returnCode == 0) {
+            marker.write(record, "UTF-8");
+        } else {
+            // builds still work, they download the package managers on first use
+            log.error(Messages.NodeJSInstaller_corepackFailed(returnCode));
+        }
+    }
+
     private void restoreCache(FilePath expected, File cache, TaskListener log) throws IOException, InterruptedException {
         try (InputStream in = cache.toURI().toURL().openStream()) {
             CountingInputStream cis = new CountingInputStream(in);
@@ -175,7 +371,11 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
         }
     }
 
-    private void buildCache(FilePath expected, File cache) throws IOException, InterruptedException {
+    /* package */ static void buildCache(FilePath expected, File cache) throws IOException, InterruptedException {
+        buildCache(expected, cache, new DirScanner.Glob("**", COREPACK_HOME_FOLDER + "/**"));
+    }
+
+    private static void buildCache(FilePath expected, File cache, DirScanner scanner) throws IOException, InterruptedException {
         // update the local cache on master
         // download to a temporary file and rename it in to handle concurrency and failure correctly,
         Path tmp = new File(cache.getPath() + ".tmp").toPath();
@@ -187,7 +387,7 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
             try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
                 // workaround to not store current folder as root folder in the archive
                 // this prevent issue when tool name is renamed 
-                expected.tar(out, "**");
+                expected.tar(out, scanner);
             }
             Files.move(tmp, cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } finally {
@@ -202,46 +402,211 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
         String globalPackages = getNpmPackages();
 
         if (StringUtils.isNotBlank(globalPackages)) { // JENKINS-41876
-            boolean skipNpmPackageInstallation = areNpmPackagesUpToDate(expected, globalPackages, getNpmPackagesRefreshHours());
-            if (!skipNpmPackageInstallation) {
-                expected.child(NPM_PACKAGES_RECORD_FILENAME).delete();
+            if (sharedGlobalPrefix) {
+                // the prefix is shared by all installations of the same major version, one refresh at time
+                FilePath prefix = getGlobalPrefix(expected, ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node));
+                InstallationLock.install(node, prefix, log, () -> {
+                    refreshGlobalPackages(node, log, expected, prefix, globalPackages);
+                    return prefix;
+                }, new CheckNpmPackages(globalPackages));
+            } else {
+                refreshGlobalPackages(node, log, expected, expected, globalPackages);
+            }
+        }
+    }
 
-                Platform platform = ToolsUtils.getPlatform(node);
+    /*
+     * Installs the global packages into the given prefix with the npm of the NodeJS installation.
+     */
+    private void refreshGlobalPackages(Node node, TaskListener log, FilePath expected, FilePath prefix, String globalPackages) throws IOException, InterruptedException {
+        boolean skipNpmPackageInstallation = areNpmPackagesUpToDate(prefix, globalPackages, getNpmPackagesRefreshHours());
+        if (!skipNpmPackageInstallation) {
+            FilePath marker = prefix.child(NPM_PACKAGES_RECORD_FILENAME);
+            long lastRefresh = marker.exists() ? marker.lastModified() : 0;
+            // with a lock all agents install the same versions resolved by the controller
+            List<String> specs = lockPackages ? NpmPackagesLock.pin(globalPackages, getNpmPackagesRefreshHours(), log) : NpmPackagesRecord.specs(globalPackages);
+            // a package list changed within the refresh period is reconciled, otherwise all packages are reinstalled
+            boolean expired = System.currentTimeMillis() >= lastRefresh + TimeUnit.HOURS.toMillis(getNpmPackagesRefreshHours());
+            // in background mode stale packages are used as they are, only missing packages are installed now
+            boolean background = backgroundPackagesRefresh && lastRefresh > 0 && NpmPackagesRecord.isSwappable(specs);
+            NpmPackagesRecord previous = expired && !background ? null : NpmPackagesRecord.read(prefix);
+            if (previous != null && !previous.isReconcilable(specs)) {
+                previous = null;
+            }
 
-                ArgumentListBuilder npmScriptArgs = new ArgumentListBuilder();
-                if (platform == Platform.WINDOWS) {
-                    npmScriptArgs.add("cmd");
-                    npmScriptArgs.add("/c");
+            Platform platform = ToolsUtils.getPlatform(node);
+            if (background && previous != null && globalPackages.equals(marker.readToString())) {
+                refreshGlobalPackagesInBackground(node, expected, prefix, platform, globalPackages, specs);
+                return;
+            }
+            // restored if the reconciliation fails
+            String previousPackages = previous != null && marker.exists() ? marker.readToString() : null;
+            marker.delete();
+
+            // another agent with the same platform could have already installed these packages
+            File bundle = DISABLE_CACHE ? null : getLocalPackagesBundleFile(node, String.join(" ", specs));
+            if (previous == null && bundle != null && bundle.exists() && System.currentTimeMillis() < bundle.lastModified() + TimeUnit.HOURS.toMillis(getNpmPackagesRefreshHours())) {
+                log.getLogger().println(Messages.NodeJSInstaller_installPackagesFromCache(bundle, prefix, node.getDisplayName()));
+                try {
+                    restoreCache(prefix, bundle, log);
+                    marker.write(globalPackages, "UTF-8");
+                    NpmPackagesRecord.build(prefix, platform, specs, null).write(prefix);
+                    return;
+                } catch (IOException e) {
+                    log.error("Use of npm packages cache failed: " + e.getMessage());
                 }
+            }
 
-                FilePath binFolder = expected.child(platform.binFolder);
-                FilePath npmExe = binFolder.child(platform.npmFileName);
-                npmScriptArgs.add(npmExe);
+            List<String> toInstall = specs;
+            List<String> toRemove = Collections.emptyList();
+            if (previous != null) {
+                toInstall = previous.added(specs);
+                toRemove = previous.removed(specs);
+                log.getLogger().println(Messages.NodeJSInstaller_reconcilePackages(toInstall.isEmpty() ? "-" : String.join(" ", toInstall), toRemove.isEmpty() ? "-" : String.join(" ", toRemove)));
+            }
+
+            // npm has no command that removes and adds packages at once
+            int returnCode = 0;
+            if (!toRemove.isEmpty()) {
+                returnCode = runGlobalNpm(node, log, expected, prefix, platform, "uninstall", toRemove, Collections.emptyList());
+            }
+            if (returnCode == 0 && !toInstall.isEmpty()) {
+                returnCode = runGlobalNpm(node, log, expected, prefix, platform, "install", toInstall, getInstallOptions());
+            }
 
-                npmScriptArgs.add("install");
-                npmScriptArgs.add("-g");
-                for (String packageName : globalPackages.split("\\s")) {
-                    npmScriptArgs.add(packageName);
+            if (returnCode == 0) {
+                // leave a record for the next up-to-date check
+                marker.write(globalPackages, "UTF-8");
+                marker.act(new ChmodRecAPlusX());
+                if (previous != null) {
+                    // a reconciliation does not postpone the next full refresh
+                    marker.touch(lastRefresh);
                 }
+                NpmPackagesRecord.build(prefix, platform, specs, previous).write(prefix);
 
-                EnvVars env = new EnvVars();
-                env.put(NodeJSConstants.ENVVAR_NODEJS_PATH, binFolder.getRemote());
-                try {
-                    buildProxyEnvVars(env, log);
-                } catch (URISyntaxException e) {
-                    log.error("Wrong proxy URL: " + e.getMessage());
+                if (bundle != null) {
+                    try {
+                        buildCache(prefix, bundle, getPackagesScanner(prefix, platform));
+                    } catch (IOException e) {
+                        log.error("Failed to cache npm packages: " + e.getMessage());
+                    }
+                }
+                if (background && previous != null && expired) {
+                    refreshGlobalPackagesInBackground(node, expected, prefix, platform, globalPackages, specs);
+                }
+            } else if (previousPackages != null) {
+                // keep the previous list, the next build reconciles again what is actually installed
+                marker.write(previousPackages, "UTF-8");
+                marker.touch(lastRefresh);
+                List<String> previousSpecs = previous.getEntries().stream().map(NpmPackagesRecord.Entry::getSpec).collect(Collectors.toList());
+                NpmPackagesRecord.build(prefix, platform, previousSpecs, previous).write(prefix);
+            }
+        }
+    }
+
+    /*
+     * Reinstalls all global packages into a side prefix while builds go on with the current ones, then swaps them in.
+     */
+    private void refreshGlobalPackagesInBackground(Node node, FilePath expected, FilePath prefix, Platform platform, String globalPackages, List<String> specs) {
+        String key = node.getNodeName() + '@' + prefix.getRemote();
+        if (!BACKGROUND_REFRESHES.add(key)) {
+            // already in progress
+            return;
+        }
+
+        Computer.threadPoolForRemoting.submit(() -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            TaskListener log = new StreamTaskListener(buffer, StandardCharsets.UTF_8);
+            // beside the prefix, so it is not captured by the caches built from it
+            FilePath side = prefix.sibling(prefix.getName() + NPM_REFRESH_FOLDER);
+            try {
+                side.deleteRecursive();
+                side.mkdirs();
+                int returnCode = runGlobalNpm(node, log, expected, side, platform, "install", specs, getInstallOptions());
+                if (returnCode != 0) {
+                    LOGGER.log(Level.WARNING, "Background refresh of npm packages in {0} on {1} failed:\n{2}",
+                            new Object[] { prefix, node.getDisplayName(), buffer.toString(StandardCharsets.UTF_8.name()) });
+                    return;
                 }
 
-                hudson.Launcher launcher = node.createLauncher(log);
-                int returnCode = launcher.launch().envs(env).cmds(npmScriptArgs).stdout(log).join();
+                // short lock, builds that install the same tool wait only for the swap
+                AtomicBoolean swapped = new AtomicBoolean();
+                for (int attempt = 0; !swapped.get(); attempt++) {
+                    if (attempt == SWAP_ATTEMPTS) {
+                        LOGGER.log(Level.WARNING, "Gave up to swap the refreshed npm packages in {0} on {1}, the lock is always busy",
+                                new Object[] { prefix, node.getDisplayName() });
+                        return;
+                    }
+                    if (attempt > 0) {
+                        // another installation held the lock, back off before try again
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(1L << attempt));
+                    }
+                    InstallationLock.install(node, prefix, log, () -> {
+                        prefix.act(new NpmPackagesRecord.Swap(side.getRemote(), platform == Platform.WINDOWS, specs));
+                        prefix.child(NPM_PACKAGES_RECORD_FILENAME).write(globalPackages, "UTF-8");
+                        NpmPackagesRecord.build(prefix, platform, specs, null).write(prefix);
+                        swapped.set(true);
+                        return prefix;
+                    });
+                }
+                LOGGER.log(Level.FINE, "Refreshed npm packages in {0} on {1}", new Object[] { prefix, node.getDisplayName() });
 
-                if (returnCode == 0) {
-                    // leave a record for the next up-to-date check
-                    expected.child(NPM_PACKAGES_RECORD_FILENAME).write(globalPackages, "UTF-8");
-                    expected.child(NPM_PACKAGES_RECORD_FILENAME).act(new ChmodRecAPlusX());
+                File bundle = DISABLE_CACHE ? null : getLocalPackagesBundleFile(node, String.join(" ", specs));
+                if (bundle != null) {
+                    buildCache(prefix, bundle, getPackagesScanner(prefix, platform));
                 }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Background refresh of npm packages in " + prefix + " on " + node.getDisplayName() + " failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    side.deleteRecursive();
+                } catch (IOException | InterruptedException e) {
+                    LOGGER.log(Level.FINE, "Failed to remove " + side, e);
+                }
+                BACKGROUND_REFRESHES.remove(key);
             }
+        });
+    }
+
+    private List<String> getInstallOptions() {
+        // locked versions are resolved from the npm cache when possible
+        return lockPackages ? Collections.singletonList("--prefer-offline") : Collections.emptyList();
+    }
+
+    /*
+     * Runs npm of the NodeJS installation on global packages, the prefix is passed to npm when it is not the installation itself.
+     */
+    private int runGlobalNpm(Node node, TaskListener log, FilePath expected, FilePath prefix, Platform platform, String command, List<String> packages, List<String> options) throws IOException, InterruptedException {
+        ArgumentListBuilder npmScriptArgs = new ArgumentListBuilder();
+        if (platform == Platform.WINDOWS) {
+            npmScriptArgs.add("cmd");
+            npmScriptArgs.add("/c");
+        }
+
+        FilePath binFolder = expected.child(platform.binFolder);
+        FilePath npmExe = binFolder.child(platform.npmFileName);
+        npmScriptArgs.add(npmExe);
+
+        npmScriptArgs.add(command);
+        npmScriptArgs.add("-g");
+        if (!prefix.equals(expected)) {
+            npmScriptArgs.add("--prefix", prefix.getRemote());
+        }
+        npmScriptArgs.add(options);
+        npmScriptArgs.add(packages);
+
+        EnvVars env = new EnvVars();
+        env.put(NodeJSConstants.ENVVAR_NODEJS_PATH, binFolder.getRemote());
+        try {
+            buildProxyEnvVars(env, log);
+        } catch (URISyntaxException e) {
+            log.error("Wrong proxy URL: " + e.getMessage());
         }
+
+        hudson.Launcher launcher = node.createLauncher(log);
+        return launcher.launch().envs(env).cmds(npmScriptArgs).stdout(log).join();
     }
 
     private void buildProxyEnvVars(EnvVars env, TaskListener log) throws IOException, URISyntaxException {
@@ -346,6 +711,25 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
         }
     }
 
+    /*
+     * A prefix refreshed by someone else is complete when its record lists the same packages.
+     */
+    private static final class CheckNpmPackages extends MasterToSlaveFileCallable<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final String npmPackages;
+
+        CheckNpmPackages(String npmPackages) {
+            this.npmPackages = npmPackages;
+        }
+
+        @Override
+        public Boolean invoke(File prefix, VirtualChannel channel) throws IOException {
+            File marker = new File(prefix, NPM_PACKAGES_RECORD_FILENAME);
+            return marker.isFile() && npmPackages.equals(new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8));
+        }
+    }
+
     // update code from ZipExtractionInstaller
     static class /* ZipExtractionInstaller */ ChmodRecAPlusX extends MasterToSlaveFileCallable<Void> {
         private static final long serialVersionUID = 1L;
@@ -388,23 +772,275 @@ public class NodeJSInstaller extends DownloadFromUrlInstaller {
         this.force32Bit = force32Bit;
     }
 
+    /**
+     * Returns the folder of the installation shared between all tools of the
+     * same version, platform and architecture.
+     *
+     * @param expected the tool home
+     * @param platform of the node
+     * @param cpu of the node
+     * @return the location of the shared installation
+     */
+    /* package */ FilePath getSharedLocation(FilePath expected, Platform platform, CPU cpu) {
+        FilePath parent = expected.getParent();
+        if (parent == null) {
+            parent = expected;
+        }
+        return parent.child(SHARED_INSTALLATIONS_FOLDER).child(id + "-" + platform.name().toLowerCase(Locale.ENGLISH) + "-" + cpu.name());
+    }
+
+    public boolean isSharedInstallation() {
+        return sharedInstallation;
+    }
+
+    /**
+     * Sets if the NodeJS installation is shared with other tools of the same
+     * version on the same node. Each tool has its own global packages.
+     *
+     * @param sharedInstallation {@code true} to share the NodeJS installation
+     */
+    @DataBoundSetter
+    public void setSharedInstallation(boolean sharedInstallation) {
+        this.sharedInstallation = sharedInstallation;
+    }
+
+    public boolean isBackgroundPackagesRefresh() {
+        return backgroundPackagesRefresh;
+    }
+
+    /**
+     * Sets if expired global packages are refreshed in background. Builds use
+     * the installed packages meanwhile, only missing packages are installed
+     * before the build starts.
+     *
+     * @param backgroundPackagesRefresh {@code true} to refresh packages in
+     *        background
+     */
+    @DataBoundSetter
+    public void setBackgroundPackagesRefresh(boolean backgroundPackagesRefresh) {
+        this.backgroundPackagesRefresh = backgroundPackagesRefresh;
+    }
+
+    public boolean isLockPackages() {
+        return lockPackages;
+    }
+
+    /**
+     * Sets if the global package specs are resolved once on the controller
+     * into a lock, agents install the locked versions.
+     *
+     * @param lockPackages {@code true} to lock the global packages versions
+     */
+    @DataBoundSetter
+    public void setLockPackages(boolean lockPackages) {
+        this.lockPackages = lockPackages;
+    }
+
+    public boolean isSharedGlobalPrefix() {
+        return sharedGlobalPrefix;
+    }
+
+    /**
+     * Sets if the global npm packages are installed in a prefix outside the
+     * tool home, shared with the installations of the same major version,
+     * platform, architecture and package list. Patch upgrades of NodeJS reuse
+     * the installed packages.
+     *
+     * @param sharedGlobalPrefix {@code true} to share the global packages
+     *        between versions
+     */
+    @DataBoundSetter
+    public void setSharedGlobalPrefix(boolean sharedGlobalPrefix) {
+        this.sharedGlobalPrefix = sharedGlobalPrefix;
+    }
+
+    public String getCorepackPackageManagers() {
+        return corepackPackageManagers;
+    }
+
+    /**
+     * Sets the package managers, like {@code pnpm@9.1.0 yarn@4.2.2}, that
+     * Corepack prepares in the installation.
+     *
+     * @param corepackPackageManagers space separated list of package managers
+     */
+    @DataBoundSetter
+    public void setCorepackPackageManagers(String corepackPackageManagers) {
+        this.corepackPackageManagers = Util.fixEmptyAndTrim(corepackPackageManagers);
+    }
+
+    /**
+     * Returns the Corepack home of the given tool home when package managers
+     * are configured.
+     *
+     * @param expected the tool home
+     * @return the location of the Corepack home, {@code null} if no package
+     *         manager is prepared
+     */
+    @CheckForNull
+    public FilePath getCorepackHome(@NonNull FilePath expected) {
+        return corepackPackageManagers != null ? expected.child(COREPACK_HOME_FOLDER) : null;
+    }
+
+    /**
+     * Returns the global npm prefix of the given tool home when
+     * {@link #isSharedGlobalPrefix()} is set.
+     *
+     * @param expected the tool home
+     * @param platform of the node
+     * @param cpu of the node
+     * @return the location of the global prefix, {@code null} if the global
+     *         packages are installed in the tool home
+     */
+    @CheckForNull
+    public FilePath getGlobalPrefix(@NonNull FilePath expected, @NonNull Platform platform, @NonNull CPU cpu) {
+        if (!sharedGlobalPrefix || StringUtils.isBlank(npmPackages)) {
+            return null;
+        }
+        FilePath parent = expected.getParent();
+        if (parent == null) {
+            parent = expected;
+        }
+        // native addons are bound to the ABI, that changes only with major versions
+        int major = NodeJSVersion.parseVersion(id).getMajor();
+        return parent.child(GLOBAL_PREFIXES_FOLDER).child(major + "-" + platform.name().toLowerCase(Locale.ENGLISH) + "-" + cpu.name() + "-" + getPackagesDigest(npmPackages));
+    }
+
+    /*
+     * The major version and packages digest of the global prefix folders used by this installer on any node.
+     */
+    @CheckForNull
+    /* package */ String getGlobalPrefixKey() {
+        if (!sharedGlobalPrefix || StringUtils.isBlank(npmPackages)) {
+            return null;
+        }
+        return NodeJSVersion.parseVersion(id).getMajor() + "-" + getPackagesDigest(npmPackages);
+    }
+
     protected File getLocalCacheFile(Installable installable, Node node) throws DetectionFailedException {
         Platform platform = ToolsUtils.getPlatform(node);
         CPU cpu = ToolsUtils.getCPU(node);
+        return getCacheFile(platform, cpu, id);
+    }
+
+    /**
+     * Returns the archive in the controller cache for the given NodeJS version.
+     *
+     * @param platform of the archive
+     * @param cpu of the archive
+     * @param id the NodeJS version
+     * @return the cache file, it could not exists
+     */
+    /* package */ static File getCacheFile(@NonNull Platform platform, @NonNull CPU cpu, @NonNull String id) {
         // we store cache as tar.gz to preserve symlink
         return new File(Jenkins.get().getRootDir(), "caches/nodejs/" + platform + "/" + cpu + "/" + id + ".tar.gz");
     }
 
-    protected final class NodeJSInstallable extends NodeSpecificInstallable {
+    protected File getLocalPackagesBundleFile(Node node, String npmPackages) throws DetectionFailedException {
+        Platform platform = ToolsUtils.getPlatform(node);
+        CPU cpu = ToolsUtils.getCPU(node);
+        return getPackagesBundleFile(platform, cpu, id, npmPackages);
+    }
 
-        public NodeJSInstallable(Installable inst) {
+    /**
+     * Returns the archive in the controller cache of the global npm packages
+     * installed in the given NodeJS version.
+     *
+     * @param platform of the archive
+     * @param cpu of the archive
+     * @param id the NodeJS version
+     * @param npmPackages the global packages, the order does not matter
+     * @return the cache file, it could not exists
+     */
+    /* package */ static File getPackagesBundleFile(@NonNull Platform platform, @NonNull CPU cpu, @NonNull String id, @NonNull String npmPackages) {
+        return new File(Jenkins.get().getRootDir(), "caches/nodejs/" + platform + "/" + cpu + "/" + id + "-packages/" + getPackagesDigest(npmPackages) + ".tar.gz");
+    }
+
+    /* package */ static String getPackagesDigest(@NonNull String npmPackages) {
+        String normalized = Arrays.stream(npmPackages.trim().split("\\s+")) //
+                .filter(StringUtils::isNotEmpty) //
+                .distinct() //
+                .sorted() //
+                .collect(Collectors.joining(" "));
+        return Util.getDigestOf(normalized);
+    }
+
+    /*
+     * The global packages folder and their bin shims, without the node executable.
+     */
+    private static DirScanner getPackagesScanner(FilePath prefix, Platform platform) {
+        if (platform == Platform.WINDOWS) {
+            // the shims are in the prefix folder together with the NodeJS distribution
+            return new DirScanner.Filter(new WindowsPackagesFilter(prefix.getRemote()));
+        }
+        return new DirScanner.Glob("lib/node_modules/**,bin/**", platform.binFolder + "/" + platform.nodeFileName);
+    }
+
+    /*
+     * Accepts node_modules and the shims npm writes in the Windows prefix (name, name.cmd and name.ps1).
+     */
+    private static final class WindowsPackagesFilter implements FileFilter, Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final Set<String> BUNDLED = new HashSet<>(Arrays.asList("npm", "npx", "corepack", "license"));
+
+        private final String prefix;
+
+        WindowsPackagesFilter(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean accept(File file) {
+            Path path = new File(prefix).toPath().relativize(file.toPath());
+            if (path.getNameCount() > 1) {
+                return "node_modules".equals(path.getName(0).toString());
+            }
+            String name = path.toString();
+            String shim = StringUtils.removeEnd(StringUtils.removeEnd(name.toLowerCase(Locale.ENGLISH), ".cmd"), ".ps1");
+            // files of the distribution and records have an extension
+            return shim.indexOf('.') == -1 && !BUNDLED.contains(shim);
+        }
+    }
+
+    /**
+     * An installable whose download URL depends only on the platform and the
+     * architecture of the node.
+     */
+    protected abstract class PlatformSpecificInstallable extends NodeSpecificInstallable {
+
+        protected PlatformSpecificInstallable(Installable inst) {
             super(inst);
         }
 
         @Override
         public NodeSpecificInstallable forNode(Node node, TaskListener log) throws IOException, InterruptedException {
-            InstallerPathResolver installerPathResolver = InstallerPathResolver.Factory.findResolverFor(id);
-            String relativeDownloadPath = installerPathResolver.resolvePathFor(id, ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node));
+            return forPlatform(ToolsUtils.getPlatform(node), ToolsUtils.getCPU(node));
+        }
+
+        /**
+         * Resolves the download URL for the given platform and architecture.
+         *
+         * @param platform the target platform
+         * @param cpu the target architecture
+         * @return this installable with the resolved URL
+         * @throws IOException if no archive is available for the given
+         *         platform and architecture
+         */
+        public abstract NodeSpecificInstallable forPlatform(@NonNull Platform platform, @NonNull CPU cpu) throws IOException;
+    }
+
+    protected final class NodeJSInstallable extends PlatformSpecificInstallable {
+
+        public NodeJSInstallable(Installable inst) {
+            super(inst);
+        }
+
+        @Override
+        public NodeSpecificInstallable forPlatform(@NonNull Platform platform, @NonNull CPU cpu) throws IOException {
+            // the version folder is inside the distribution site
+            String distURL = IndexInstallerPathResolver.getDistURL(url);
+            InstallerPathResolver installerPathResolver = InstallerPathResolver.Factory.findResolverFor(id, distURL);
+            String relativeDownloadPath = installerPathResolver.resolvePathFor(id, platform, cpu);
             url += relativeDownloadPath;
             return this;
         }
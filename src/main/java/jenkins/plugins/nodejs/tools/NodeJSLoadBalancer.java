@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Computer;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.LoadBalancer;
+import hudson.model.Node;
+import hudson.model.Queue;
+import hudson.model.listeners.ItemListener;
+import hudson.model.queue.MappingWorksheet;
+import hudson.model.queue.MappingWorksheet.ExecutorChunk;
+import hudson.model.queue.MappingWorksheet.Mapping;
+import jenkins.model.Jenkins;
+import jenkins.model.NodeListener;
+import jenkins.plugins.nodejs.NodeJSUtils;
+import jenkins.plugins.nodejs.cache.CacheLocationLocator;
+import jenkins.plugins.nodejs.cache.PerExecutorCacheLocationLocator;
+import jenkins.plugins.nodejs.cache.PerJobCacheLocationLocator;
+
+/**
+ * Load balancer that prefers the agents already warm for the NodeJS
+ * installations a task needs.
+ * <p>
+ * An agent is warm when the installation has been resolved on it (the tool is
+ * unpacked), recently enough that the global packages are still current, and
+ * when the npm cache of the job is there (workspace cache of the last build
+ * or executor cache). To stay fair under load only agents with at least half
+ * of their executors idle are preferred, in all other cases the decision is
+ * left to the original load balancer.
+ * <p>
+ * The load balancer is opt-in, when enabled it wraps the load balancer
+ * configured at startup.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSLoadBalancer extends LoadBalancer {
+    private static final Logger LOGGER = Logger.getLogger(NodeJSLoadBalancer.class.getName());
+
+    private static final boolean ENABLED = Boolean.getBoolean(NodeJSInstaller.class.getName() + ".loadBalancer.enabled"); // NOSONAR
+
+    private static final int SCORE_INSTALLED = 4;
+    private static final int SCORE_PACKAGES = 2;
+    private static final int SCORE_CACHE = 1;
+
+    /**
+     * node name -> installation name -> last time resolved.
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<String, Long>> INSTALLED = new ConcurrentHashMap<>();
+    /**
+     * job full name -> nodes with the npm cache of the job.
+     */
+    private static final ConcurrentMap<String, Set<String>> JOB_CACHES = new ConcurrentHashMap<>();
+    /**
+     * node name -> installations used by builds with executor npm caches.
+     */
+    private static final ConcurrentMap<String, Set<String>> EXECUTOR_CACHES = new ConcurrentHashMap<>();
+    /**
+     * job full name -> installations used at run time.
+     */
+    private static final ConcurrentMap<String, Set<String>> JOB_INSTALLATIONS = new ConcurrentHashMap<>();
+
+    private final LoadBalancer delegate;
+
+    public NodeJSLoadBalancer(@NonNull LoadBalancer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    public static void install() {
+        if (!ENABLED) {
+            return;
+        }
+        Queue queue = Jenkins.get().getQueue();
+        queue.setLoadBalancer(new NodeJSLoadBalancer(queue.getLoadBalancer()));
+    }
+
+    /**
+     * Records that the installation has been resolved on the node.
+     *
+     * @param node the node
+     * @param installation the installation name
+     */
+    public static void recordInstalled(@NonNull Node node, @CheckForNull String installation) {
+        if (installation != null) {
+            INSTALLED.computeIfAbsent(node.getNodeName(), k -> new ConcurrentHashMap<>()).put(installation, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records that a build of the job has used the installation and the npm
+     * cache strategy on the node.
+     *
+     * @param job the job
+     * @param node where the build run
+     * @param installation the installation name
+     * @param cacheLocationStrategy the npm cache strategy
+     */
+    public static void recordBuild(@NonNull Job<?, ?> job, @NonNull Node node, @CheckForNull String installation, @CheckForNull CacheLocationLocator cacheLocationStrategy) {
+        if (installation != null) {
+            JOB_INSTALLATIONS.computeIfAbsent(job.getFullName(), k -> ConcurrentHashMap.newKeySet()).add(installation);
+        }
+        if (cacheLocationStrategy instanceof PerJobCacheLocationLocator) {
+            JOB_CACHES.computeIfAbsent(job.getFullName(), k -> ConcurrentHashMap.newKeySet()).add(node.getNodeName());
+        } else if (cacheLocationStrategy instanceof PerExecutorCacheLocationLocator && installation != null) {
+            // the executor caches are shared by all jobs, warm for the same installation
+            EXECUTOR_CACHES.computeIfAbsent(node.getNodeName(), k -> ConcurrentHashMap.newKeySet()).add(installation);
+        }
+    }
+
+    @Override
+    public Mapping map(@NonNull Queue.Task task, MappingWorksheet worksheet) {
+        try {
+            Job<?, ?> job = task.getOwnerTask() instanceof Job ? (Job<?, ?>) task.getOwnerTask() : null;
+            if (job != null && worksheet.works.size() == 1) {
+                Set<String> installations = getInstallations(job);
+                if (!installations.isEmpty()) {
+                    ExecutorChunk best = null;
+                    int bestScore = 0;
+                    for (ExecutorChunk chunk : worksheet.works(0).applicableExecutorChunks()) {
+                        Computer computer = chunk.computer;
+                        if (computer.countIdle() * 2 < computer.countExecutors()) {
+                            // do not overload warm agents
+                            continue;
+                        }
+                        int score = score(job, chunk.node, installations);
+                        if (score > bestScore || score == bestScore && best != null && computer.countIdle() > best.computer.countIdle()) {
+                            best = chunk;
+                            bestScore = score;
+                        }
+                    }
+                    if (best != null) {
+                        Mapping mapping = worksheet.new Mapping();
+                        mapping.assign(0, best);
+                        if (mapping.isCompletelyValid()) {
+                            return mapping;
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to score agents for " + task.getFullDisplayName(), e);
+        }
+        return delegate.map(task, worksheet);
+    }
+
+    /* package */ static int score(@NonNull Job<?, ?> job, @NonNull Node node, @NonNull Set<String> installations) {
+        int score = 0;
+        long now = System.currentTimeMillis();
+        Map<String, Long> installed = INSTALLED.getOrDefault(node.getNodeName(), Collections.emptyMap());
+        for (String installation : installations) {
+            Long lastResolved = installed.get(installation);
+            if (lastResolved != null) {
+                score += SCORE_INSTALLED;
+                if (now - lastResolved < getPackagesRefreshTime(installation)) {
+                    score += SCORE_PACKAGES;
+                }
+            }
+        }
+        if (JOB_CACHES.getOrDefault(job.getFullName(), Collections.emptySet()).contains(node.getNodeName())) {
+            score += SCORE_CACHE;
+        } else if (!Collections.disjoint(EXECUTOR_CACHES.getOrDefault(node.getNodeName(), Collections.emptySet()), installations)) {
+            score += SCORE_CACHE;
+        }
+        return score;
+    }
+
+    /*
+     * Global packages are refreshed with the period of the installer of each installation.
+     */
+    private static long getPackagesRefreshTime(String installation) {
+        NodeJSInstallation tool = NodeJSUtils.getNodeJS(installation);
+        NodeJSInstaller installer = tool != null ? tool.getNodeJSInstaller() : null;
+        Long hours = installer != null ? installer.getNpmPackagesRefreshHours() : null;
+        return TimeUnit.HOURS.toMillis(hours != null ? hours : NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+    }
+
+    /**
+     * Returns the NodeJS installations a job needs, from its freestyle
+     * configuration or from the installations its builds used.
+     *
+     * @param job the job
+     * @return the installation names
+     */
+    /* package */ static Set<String> getInstallations(@NonNull Job<?, ?> job) {
+        Set<String> result = new HashSet<>(JOB_INSTALLATIONS.getOrDefault(job.getFullName(), Collections.emptySet()));
+        // the queue lock is held, only the in memory freestyle configuration
+        // is analyzed, pipelines are known by the installations their builds used
+        result.addAll(NodeJSDemandAnalyzer.getRequirements(job).keySet());
+        return result;
+    }
+
+    /**
+     * Forgets the nodes removed or renamed.
+     */
+    @Extension
+    public static class NodeRemoval extends NodeListener {
+
+        @Override
+        protected void onUpdated(@NonNull Node oldOne, @NonNull Node newOne) {
+            if (!oldOne.getNodeName().equals(newOne.getNodeName())) {
+                forget(oldOne.getNodeName());
+            }
+        }
+
+        @Override
+        protected void onDeleted(@NonNull Node node) {
+            forget(node.getNodeName());
+        }
+
+        private static void forget(String nodeName) {
+            INSTALLED.remove(nodeName);
+            EXECUTOR_CACHES.remove(nodeName);
+            for (Set<String> nodes : JOB_CACHES.values()) {
+                nodes.remove(nodeName);
+            }
+            JOB_CACHES.values().removeIf(Set::isEmpty);
+        }
+    }
+
+    /**
+     * Forgets the jobs deleted and follows the jobs renamed or moved, also
+     * when it is one of their folders.
+     */
+    @Extension
+    public static class JobRemoval extends ItemListener {
+
+        @Override
+        public void onDeleted(Item item) {
+            forget(item.getFullName(), null);
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            forget(oldFullName, newFullName);
+        }
+
+        private static void forget(String fullName, @CheckForNull String newFullName) {
+            for (ConcurrentMap<String, Set<String>> jobs : Arrays.asList(JOB_INSTALLATIONS, JOB_CACHES)) {
+                for (String job : new ArrayList<>(jobs.keySet())) {
+                    if (job.equals(fullName) || job.startsWith(fullName + '/')) {
+                        Set<String> values = jobs.remove(job);
+                        if (values != null && newFullName != null) {
+                            jobs.put(newFullName + job.substring(fullName.length()), values);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Label;
+import hudson.model.Node;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Installs a NodeJS installation on all online agents that match a label
+ * expression.
+ * <p>
+ * At most {@code parallelism} agents are installed at the same time, failed
+ * installations are retried with a linear backoff. The parallelism can not
+ * exceed the concurrency of {@link NodeJSBackgroundInstaller}.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSPrefetch {
+
+    private static final long RETRY_DELAY = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Result of the installation on an agent.
+     */
+    public static final class AgentResult {
+        private final Computer computer;
+        private volatile NodeJSBackgroundInstaller.State state = NodeJSBackgroundInstaller.State.QUEUED;
+        private volatile int attempts;
+        private volatile long duration;
+        private volatile String message;
+
+        private AgentResult(Computer computer) {
+            this.computer = computer;
+        }
+
+        public String getAgent() {
+            return computer.getName();
+        }
+
+        public NodeJSBackgroundInstaller.State getState() {
+            return state;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public String getDurationString() {
+            return Util.getTimeSpanString(duration);
+        }
+
+        @CheckForNull
+        public String getMessage() {
+            return message;
+        }
+
+        private JSONObject toJSON() {
+            JSONObject json = new JSONObject();
+            json.put("agent", getAgent());
+            json.put("state", state.name());
+            json.put("attempts", attempts);
+            json.put("duration", duration);
+            json.put("message", message);
+            return json;
+        }
+    }
+
+    private final NodeJSInstallation installation;
+    private final String label;
+    private final int parallelism;
+    private final int retries;
+    private final List<AgentResult> results = new ArrayList<>();
+    private final long startTime = System.currentTimeMillis();
+    private volatile long endTime;
+
+    public NodeJSPrefetch(@NonNull NodeJSInstallation installation, @CheckForNull String label, int parallelism, int retries) {
+        if (parallelism > NodeJSBackgroundInstaller.getConcurrency()) {
+            // a larger window would only queue in the installation pool
+            throw new IllegalArgumentException(Messages.NodeJSPrefetch_parallelismTooHigh(parallelism, NodeJSBackgroundInstaller.getConcurrency()));
+        }
+        this.installation = installation;
+        this.label = Util.fixEmptyAndTrim(label);
+        this.parallelism = Math.max(1, parallelism);
+        this.retries = Math.max(0, retries);
+
+        Label expression = this.label != null ? Label.parseExpression(this.label) : null;
+        for (Computer computer : Jenkins.get().getComputers()) {
+            Node node = computer.getNode();
+            if (node != null && computer.isOnline() && (expression == null || expression.matches(node))) {
+                results.add(new AgentResult(computer));
+            }
+        }
+    }
+
+    /**
+     * Installs on the matching agents, waiting until all installations are
+     * done.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void run() throws InterruptedException {
+        Semaphore window = new Semaphore(parallelism);
+        try {
+            for (AgentResult result : results) {
+                window.acquire();
+                install(result).whenComplete((r, e) -> window.release());
+            }
+            // wait the last installations in the window
+            window.acquire(parallelism);
+        } finally {
+            endTime = System.currentTimeMillis();
+        }
+    }
+
+    private CompletableFuture<Void> install(AgentResult result) {
+        result.attempts++;
+        result.state = NodeJSBackgroundInstaller.State.RUNNING;
+        return NodeJSBackgroundInstaller.get().install(result.computer, installation, false).thenCompose(status -> {
+            result.duration += status.getDuration();
+            result.message = status.getMessage();
+            if (status.getState() == NodeJSBackgroundInstaller.State.FAILED && result.attempts <= retries) {
+                Executor delayed = CompletableFuture.delayedExecutor(RETRY_DELAY * result.attempts, TimeUnit.MILLISECONDS);
+                return CompletableFuture.runAsync(() -> {}, delayed).thenCompose(v -> install(result));
+            }
+            result.state = status.getState();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    public String getInstallation() {
+        return installation.getName();
+    }
+
+    @CheckForNull
+    public String getLabel() {
+        return label;
+    }
+
+    public List<AgentResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    public boolean isDone() {
+        return endTime != 0;
+    }
+
+    public int getCompleted() {
+        return (int) results.stream().filter(r -> r.state == NodeJSBackgroundInstaller.State.INSTALLED || r.state == NodeJSBackgroundInstaller.State.FAILED).count();
+    }
+
+    public int getFailed() {
+        return (int) results.stream().filter(r -> r.state == NodeJSBackgroundInstaller.State.FAILED).count();
+    }
+
+    /**
+     * Returns the progress of the prefetch in percentage.
+     *
+     * @return a value between 0 and 100
+     */
+    public int getProgress() {
+        return results.isEmpty() ? 100 : getCompleted() * 100 / results.size();
+    }
+
+    public JSONObject toJSON() {
+        JSONObject json = new JSONObject();
+        json.put("installation", getInstallation());
+        json.put("label", label);
+        json.put("parallelism", parallelism);
+        json.put("retries", retries);
+        json.put("done", isDone());
+        json.put("progress", getProgress());
+        json.put("total", results.size());
+        json.put("completed", getCompleted());
+        json.put("failed", getFailed());
+        json.put("duration", (isDone() ? endTime : System.currentTimeMillis()) - startTime);
+        JSONArray agents = new JSONArray();
+        for (AgentResult result : results) {
+            agents.add(result.toJSON());
+        }
+        json.put("agents", agents);
+        return json;
+    }
+
+}
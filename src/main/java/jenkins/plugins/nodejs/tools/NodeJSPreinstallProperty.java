@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Job;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.Queue;
+import hudson.model.TaskListener;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.model.queue.QueueTaskDispatcher;
+import hudson.slaves.ComputerListener;
+import hudson.tools.ToolInstallation;
+import hudson.tools.ToolProperty;
+import hudson.tools.ToolPropertyDescriptor;
+import hudson.util.FormValidation;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+
+/**
+ * Installs the NodeJS installation in background on the agents that match a
+ * label expression as soon as they come online. Builds that use the
+ * installation do not start on the agent until it is installed.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class NodeJSPreinstallProperty extends ToolProperty<NodeJSInstallation> {
+
+    /**
+     * Max time builds wait for the installations before start on an agent.
+     */
+    private static final long BLOCKING_TIMEOUT = TimeUnit.MINUTES.toMillis(Long.getLong(NodeJSInstaller.class.getName() + ".preinstall.timeoutMinutes", 30)); // NOSONAR
+
+    private final String label;
+
+    @DataBoundConstructor
+    public NodeJSPreinstallProperty(String label) {
+        this.label = Util.fixEmptyAndTrim(label);
+    }
+
+    @CheckForNull
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns if the installation should be preinstalled on the given node.
+     *
+     * @param node the node to test
+     * @return {@code true} if the node matches the label expression
+     */
+    public boolean appliesTo(@NonNull Node node) {
+        if (label == null) {
+            return true;
+        }
+        try {
+            return Label.parseExpression(label).matches(node);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Class<NodeJSInstallation> type() {
+        return NodeJSInstallation.class;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends ToolPropertyDescriptor {
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.NodeJSPreinstallProperty_displayName();
+        }
+
+        @Override
+        public boolean isApplicable(Class<? extends ToolInstallation> toolType) {
+            return toolType == NodeJSInstallation.class;
+        }
+
+        public FormValidation doCheckLabel(@QueryParameter String label) {
+            String value = Util.fixEmptyAndTrim(label);
+            if (value == null) {
+                return FormValidation.ok();
+            }
+            try {
+                Label.parseExpression(value);
+                return FormValidation.ok();
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts the background installations when an agent comes online.
+     */
+    @Extension
+    public static class OnlineListener extends ComputerListener {
+
+        @Override
+        public void onOnline(Computer c, TaskListener listener) {
+            Node node = c.getNode();
+            if (node == null || node == Jenkins.get()) {
+                return;
+            }
+            for (NodeJSInstallation installation : Jenkins.get().getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).getInstallations()) {
+                NodeJSPreinstallProperty property = installation.getProperties().get(NodeJSPreinstallProperty.class);
+                if (property != null && property.appliesTo(node)) {
+                    listener.getLogger().println(Messages.NodeJSPreinstallProperty_scheduled(installation.getName()));
+                    NodeJSBackgroundInstaller.get().install(c, installation, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps builds that use NodeJS off an agent until the background
+     * installations of their tools are done.
+     */
+    @Extension
+    public static class BlockUntilInstalled extends QueueTaskDispatcher {
+
+        @Override
+        public CauseOfBlockage canTake(Node node, Queue.BuildableItem item) {
+            Computer computer = node.toComputer();
+            Queue.Task owner = item.task.getOwnerTask();
+            if (computer == null || !(owner instanceof Job)) {
+                return null;
+            }
+            Set<String> installations = NodeJSLoadBalancer.getInstallations((Job<?, ?>) owner);
+            if (NodeJSBackgroundInstaller.get().isInstalling(computer, installations, BLOCKING_TIMEOUT)) {
+                return CauseOfBlockage.fromMessage(Messages._NodeJSPreinstallProperty_installing(node.getDisplayName()));
+            }
+            return null;
+        }
+    }
+
+}
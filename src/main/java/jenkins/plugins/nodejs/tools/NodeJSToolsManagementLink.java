@@ -0,0 +1,227 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.GET;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Label;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import hudson.util.StreamTaskListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.NodeJSUtils;
+import net.sf.json.JSONObject;
+
+/**
+ * Management page to administrate the NodeJS tools cached by the controller.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+@Extension
+public class NodeJSToolsManagementLink extends ManagementLink {
+    private static final Logger LOGGER = Logger.getLogger(NodeJSToolsManagementLink.class.getName());
+
+    private transient Future<?> seedTask;
+    private transient ByteArrayOutputStream seedLog;
+    private transient NodeJSPrefetch prefetch;
+
+    @Override
+    public String getIconFileName() {
+        return "symbol-package";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "nodejs";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.NodeJSToolsManagementLink_displayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.NodeJSToolsManagementLink_description();
+    }
+
+    @NonNull
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.ADMINISTER;
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.TOOLS;
+    }
+
+    public synchronized boolean isSeeding() {
+        return seedTask != null && !seedTask.isDone();
+    }
+
+    @CheckForNull
+    public synchronized String getSeedLog() {
+        return seedLog != null ? new String(seedLog.toByteArray(), StandardCharsets.UTF_8) : null;
+    }
+
+    public FormValidation doCheckDirectory(@QueryParameter String directory) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        String value = Util.fixEmptyAndTrim(directory);
+        if (value == null || !new File(value).isDirectory()) {
+            return FormValidation.error(Messages.NodeJSCacheSeeder_invalidDirectory(directory));
+        }
+        return FormValidation.ok();
+    }
+
+    @RequirePOST
+    public synchronized HttpResponse doSeed(@QueryParameter String directory) throws IOException {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        if (isSeeding()) {
+            return HttpResponses.redirectToDot();
+        }
+
+        File source = new File(Util.fixNull(directory).trim());
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        seedLog = log;
+        seedTask = Computer.threadPoolForRemoting.submit(() -> {
+            StreamTaskListener listener = new StreamTaskListener(log, StandardCharsets.UTF_8);
+            try {
+                new NodeJSCacheSeeder(source).seed(listener);
+            } catch (IOException e) {
+                listener.error(e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        return HttpResponses.redirectToDot();
+    }
+
+    @CheckForNull
+    public synchronized NodeJSPrefetch getPrefetch() {
+        return prefetch;
+    }
+
+    public ListBoxModel doFillInstallationItems() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        ListBoxModel items = new ListBoxModel();
+        for (NodeJSInstallation installation : NodeJSUtils.getInstallations()) {
+            items.add(installation.getName());
+        }
+        return items;
+    }
+
+    public FormValidation doCheckLabel(@QueryParameter String label) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        String value = Util.fixEmptyAndTrim(label);
+        if (value != null) {
+            try {
+                Label.parseExpression(value);
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+        }
+        return FormValidation.ok();
+    }
+
+    /**
+     * Installs a NodeJS installation on all online agents that match the label
+     * expression. The form submission is redirected to the management page,
+     * the progress is available as JSON from {@code prefetchStatus}.
+     *
+     * @param installation the name of the NodeJS installation
+     * @param label the label expression, empty for all agents
+     * @param parallelism max number of agents installed at the same time
+     * @param retries number of retries for each failed agent
+     * @return the response
+     */
+    @RequirePOST
+    public synchronized HttpResponse doPrefetch(@QueryParameter String installation, @QueryParameter String label, //
+                                                @QueryParameter("parallelism") String parallelism, @QueryParameter("retries") String retries) {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        if (prefetch != null && !prefetch.isDone()) {
+            return HttpResponses.errorWithoutStack(409, Messages.NodeJSPrefetch_running(prefetch.getInstallation()));
+        }
+
+        NodeJSInstallation tool = NodeJSUtils.getNodeJS(installation);
+        if (tool == null) {
+            return HttpResponses.errorWithoutStack(400, Messages.NodeJSBuilders_noInstallationFound(installation));
+        }
+        NodeJSPrefetch newPrefetch;
+        try {
+            newPrefetch = new NodeJSPrefetch(tool, label, parseInt(parallelism, NodeJSBackgroundInstaller.getConcurrency()), parseInt(retries, 2));
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Rejected the prefetch of {0}: {1}", new Object[] { installation, e.getMessage() });
+            return HttpResponses.errorWithoutStack(400, e.getMessage());
+        }
+        prefetch = newPrefetch;
+        Computer.threadPoolForRemoting.submit(() -> {
+            newPrefetch.run();
+            return null;
+        });
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Returns the progress of the last prefetch as JSON.
+     *
+     * @return the response
+     */
+    @GET
+    public HttpResponse doPrefetchStatus() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        NodeJSPrefetch current = getPrefetch();
+        return HttpResponses.okJSON(current != null ? current.toJSON() : new JSONObject());
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        String v = Util.fixEmptyAndTrim(value);
+        return v != null ? Integer.parseInt(v) : defaultValue;
+    }
+
+}
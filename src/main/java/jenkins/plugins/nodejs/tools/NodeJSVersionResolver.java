@@ -0,0 +1,420 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.tools.DownloadFromUrlInstaller.Installable;
+import hudson.tools.InstallSourceProperty;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.tools.pathresolvers.IndexInstallerPathResolver;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Resolves the NodeJS version requested by a project, from {@code .nvmrc},
+ * {@code .node-version} or the {@code engines.node} field of
+ * {@code package.json}, against the versions available to
+ * {@link NodeJSInstaller}.
+ * <p>
+ * The resolved version is installed as an on-demand
+ * {@link NodeJSInstallation} through the normal installer, so it shares the
+ * controller cache with the configured installations. Resolutions are
+ * memoized per agent for {@code NodeJSInstaller.autoDetect.memoHours} hours.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public final class NodeJSVersionResolver {
+
+    /**
+     * Name prefix of the on-demand installations.
+     */
+    public static final String AUTO_INSTALLATION_PREFIX = "auto-";
+    private static final String[] VERSION_FILES = { ".nvmrc", ".node-version" };
+    private static final String PACKAGE_JSON = "package.json";
+    private static final long MEMO_HOURS = Long.getLong(NodeJSInstaller.class.getName() + ".autoDetect.memoHours", 24); // NOSONAR
+
+    /*
+     * The first LTS release of each line, used when the index of the
+     * distribution site is not available. A line starts as current and
+     * becomes LTS only some months later.
+     */
+    private static final Map<String, NodeJSVersion> LTS_CODENAMES;
+    static {
+        Map<String, NodeJSVersion> codenames = new HashMap<>();
+        codenames.put("argon", new NodeJSVersion(4, 2, 0));
+        codenames.put("boron", new NodeJSVersion(6, 9, 0));
+        codenames.put("carbon", new NodeJSVersion(8, 9, 0));
+        codenames.put("dubnium", new NodeJSVersion(10, 13, 0));
+        codenames.put("erbium", new NodeJSVersion(12, 13, 0));
+        codenames.put("fermium", new NodeJSVersion(14, 15, 0));
+        codenames.put("gallium", new NodeJSVersion(16, 13, 0));
+        codenames.put("hydrogen", new NodeJSVersion(18, 12, 0));
+        codenames.put("iron", new NodeJSVersion(20, 9, 0));
+        codenames.put("jod", new NodeJSVersion(22, 11, 0));
+        codenames.put("krypton", new NodeJSVersion(24, 11, 0));
+        LTS_CODENAMES = Collections.unmodifiableMap(codenames);
+    }
+
+    private static final class Resolution {
+        private final String id;
+        private final long timestamp;
+
+        Resolution(String id) {
+            this.id = id;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - timestamp > TimeUnit.HOURS.toMillis(MEMO_HOURS);
+        }
+    }
+
+    private static final ConcurrentMap<String, Resolution> RESOLUTIONS = new ConcurrentHashMap<>();
+
+    private NodeJSVersionResolver() {
+        // default constructor
+    }
+
+    /**
+     * Installs on the node the NodeJS version requested by the project in the
+     * workspace.
+     *
+     * @param node where install NodeJS
+     * @param workspace where look for the version files
+     * @param log where to log messages
+     * @return the installation for the node, {@code null} if the project does
+     *         not request any version
+     * @throws AbortException if no available version satisfies the request
+     * @throws IOException if fails to read the version files or to install
+     * @throws InterruptedException if interrupted
+     */
+    @CheckForNull
+    public static NodeJSInstallation forWorkspace(@NonNull Node node, @NonNull FilePath workspace, @NonNull TaskListener log) throws IOException, InterruptedException {
+        String spec = readSpec(workspace, log);
+        if (spec == null) {
+            return null;
+        }
+
+        String key = node.getNodeName() + '@' + spec;
+        Resolution resolution = RESOLUTIONS.get(key);
+        if (resolution == null || resolution.isExpired()) {
+            List<? extends Installable> installables = ToolsUtils.getInstallable();
+            String id = resolve(spec, installables, getLTSResolver(installables));
+            if (id == null) {
+                throw new AbortException(Messages.NodeJSVersionResolver_noMatch(spec));
+            }
+            resolution = new Resolution(id);
+            RESOLUTIONS.put(key, resolution);
+        }
+        log.getLogger().println(Messages.NodeJSVersionResolver_resolved(spec, resolution.id));
+
+        return newInstallation(resolution.id).forNode(node, log);
+    }
+
+    /**
+     * Returns an on-demand installation of the given NodeJS version.
+     *
+     * @param id the installable identifier
+     * @return a tool installation installed by {@link NodeJSInstaller}
+     * @throws IOException in case of error on build installation properties
+     */
+    @NonNull
+    public static NodeJSInstallation newInstallation(@NonNull String id) throws IOException {
+        NodeJSInstaller installer = new NodeJSInstaller(id, null, NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+        InstallSourceProperty property = new InstallSourceProperty(Collections.singletonList(installer));
+        return new NodeJSInstallation(AUTO_INSTALLATION_PREFIX + id, null, Collections.singletonList(property));
+    }
+
+    /*
+     * Prefers the LTS releases listed in the index of the distribution site,
+     * the built-in table covers the versions not listed there.
+     */
+    private static Function<NodeJSVersion, String> getLTSResolver(List<? extends Installable> installables) {
+        if (installables.isEmpty() || installables.get(0).url == null || !IndexInstallerPathResolver.isEnabled()) {
+            return NodeJSVersionResolver::getLTSCodename;
+        }
+        IndexInstallerPathResolver index = new IndexInstallerPathResolver(IndexInstallerPathResolver.getDistURL(installables.get(0).url));
+        return version -> {
+            String id = version.toString();
+            return index.isIndexed(id) ? index.getLTSCodename(id) : getLTSCodename(version);
+        };
+    }
+
+    /**
+     * Returns the codename of the LTS line the version belongs to, according
+     * to the built-in table of the first LTS release of each line.
+     *
+     * @param version of NodeJS
+     * @return the lower case codename, {@code null} if the version is not an
+     *         LTS release
+     */
+    @CheckForNull
+    /* package */ static String getLTSCodename(@NonNull NodeJSVersion version) {
+        for (Map.Entry<String, NodeJSVersion> entry : LTS_CODENAMES.entrySet()) {
+            NodeJSVersion first = entry.getValue();
+            if (first.getMajor() == version.getMajor() && version.compareTo(first) >= 0) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the requested version from, in order, {@code .nvmrc},
+     * {@code .node-version} and {@code package.json}.
+     *
+     * @param workspace where look for the version files
+     * @param log where to log messages
+     * @return the version specification, {@code null} if none is found
+     */
+    @CheckForNull
+    /* package */ static String readSpec(@NonNull FilePath workspace, @NonNull TaskListener log) throws IOException, InterruptedException {
+        for (String fileName : VERSION_FILES) {
+            FilePath file = workspace.child(fileName);
+            if (file.exists()) {
+                for (String line : file.readToString().split("\\R")) {
+                    String spec = StringUtils.substringBefore(line, "#").trim();
+                    if (!spec.isEmpty()) {
+                        log.getLogger().println(Messages.NodeJSVersionResolver_detected(spec, fileName));
+                        return spec;
+                    }
+                }
+            }
+        }
+
+        FilePath packageJSON = workspace.child(PACKAGE_JSON);
+        if (packageJSON.exists()) {
+            try {
+                JSONObject engines = JSONObject.fromObject(packageJSON.readToString()).optJSONObject("engines");
+                String spec = engines != null ? StringUtils.trimToNull(engines.optString("node")) : null;
+                if (spec != null) {
+                    log.getLogger().println(Messages.NodeJSVersionResolver_detected(spec, PACKAGE_JSON));
+                    return spec;
+                }
+            } catch (JSONException e) {
+                log.error(Messages.NodeJSVersionResolver_invalidPackageJSON(e.getMessage()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the highest installable that satisfies the specification.
+     *
+     * @param spec version specification
+     * @param installables available installables
+     * @return the installable identifier, {@code null} if none satisfies the
+     *         specification
+     */
+    @CheckForNull
+    /* package */ static String resolve(@NonNull String spec, @NonNull List<? extends Installable> installables) {
+        return resolve(spec, installables, NodeJSVersionResolver::getLTSCodename);
+    }
+
+    /**
+     * Returns the highest installable that satisfies the specification.
+     *
+     * @param spec version specification
+     * @param installables available installables
+     * @param ltsOf returns the LTS codename of a version, {@code null} if it
+     *        is not an LTS release
+     * @return the installable identifier, {@code null} if none satisfies the
+     *         specification
+     */
+    @CheckForNull
+    /* package */ static String resolve(@NonNull String spec, @NonNull List<? extends Installable> installables, @NonNull Function<NodeJSVersion, String> ltsOf) {
+        NodeJSVersion best = null;
+        String id = null;
+        for (Installable installable : installables) {
+            NodeJSVersion version;
+            try {
+                version = NodeJSVersion.parseVersion(installable.id);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if ((best == null || version.compareTo(best) > 0) && satisfies(spec, version, ltsOf)) {
+                best = version;
+                id = installable.id;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Test if the version satisfies the specification. Supported are the nvm
+     * aliases ({@code node}, {@code lts/*}, {@code lts/<codename>}) and the
+     * npm semver ranges: partial and x-ranges, comparators, tilde, caret,
+     * hyphen ranges and {@code ||} alternatives. Pre-release tags are ignored.
+     *
+     * @param spec version specification
+     * @param version the version to test
+     * @return {@code true} if the version satisfies the specification
+     */
+    /* package */ static boolean satisfies(@NonNull String spec, @NonNull NodeJSVersion version) {
+        return satisfies(spec, version, NodeJSVersionResolver::getLTSCodename);
+    }
+
+    /**
+     * Test if the version satisfies the specification.
+     *
+     * @param spec version specification
+     * @param version the version to test
+     * @param ltsOf returns the LTS codename of a version, {@code null} if it
+     *        is not an LTS release
+     * @return {@code true} if the version satisfies the specification
+     */
+    /* package */ static boolean satisfies(@NonNull String spec, @NonNull NodeJSVersion version, @NonNull Function<NodeJSVersion, String> ltsOf) {
+        String s = spec.trim().toLowerCase(Locale.ENGLISH);
+        if (s.isEmpty() || "node".equals(s) || "latest".equals(s) || "current".equals(s) || "stable".equals(s)) {
+            return true;
+        }
+        if (s.startsWith("lts/")) {
+            String codename = ltsOf.apply(version);
+            String alias = s.substring(4);
+            return codename != null && ("*".equals(alias) || alias.equals(codename));
+        }
+
+        return satisfiesRange(s, version);
+    }
+
+    /**
+     * Test if the version satisfies the npm semver range. Unlike
+     * {@link #satisfies(String, NodeJSVersion)} the nvm aliases are not
+     * supported, they do not match any version.
+     *
+     * @param range npm semver range
+     * @param version the version to test
+     * @return {@code true} if the version satisfies the range
+     */
+    /* package */ static boolean satisfiesRange(@NonNull String range, @NonNull NodeJSVersion version) {
+        for (String alternative : range.trim().toLowerCase(Locale.ENGLISH).split("\\|\\|")) {
+            if (satisfiesAll(alternative.trim(), version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean satisfiesAll(String range, NodeJSVersion version) {
+        String[] hyphen = range.split("\\s+-\\s+");
+        if (hyphen.length == 2) {
+            return satisfiesComparator(">=" + hyphen[0], version) && satisfiesComparator("<=" + hyphen[1], version);
+        }
+        // join operators with their version, ">= 18" is the same as ">=18"
+        for (String comparator : range.replaceAll("([<>=~^]+)\\s+", "$1").split("\\s+")) {
+            if (!comparator.isEmpty() && !satisfiesComparator(comparator, version)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean satisfiesComparator(String comparator, NodeJSVersion version) {
+        int i = 0;
+        while (i < comparator.length() && "<>=~^".indexOf(comparator.charAt(i)) != -1) {
+            i++;
+        }
+        String operator = comparator.substring(0, i);
+        String partial = StringUtils.removeStart(comparator.substring(i), "v");
+        // pre-release and build metadata are not supported
+        partial = StringUtils.substringBefore(StringUtils.substringBefore(partial, "-"), "+");
+
+        int[] parts = new int[3];
+        int length = 0;
+        for (String token : partial.split("\\.")) {
+            if (length == 3 || token.isEmpty() || "x".equals(token) || "*".equals(token)) {
+                break;
+            }
+            try {
+                parts[length++] = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        NodeJSVersion low = new NodeJSVersion(parts[0], parts[1], parts[2]);
+        NodeJSVersion next = next(parts, length);
+        switch (operator) {
+        case ">=":
+            return version.compareTo(low) >= 0;
+        case ">":
+            return length == 3 ? version.compareTo(low) > 0 : next != null && version.compareTo(next) >= 0;
+        case "<":
+            return version.compareTo(low) < 0;
+        case "<=":
+            return length == 3 ? version.compareTo(low) <= 0 : next == null || version.compareTo(next) < 0;
+        case "~":
+            NodeJSVersion patchUpper = next(parts, Math.min(length, 2));
+            return version.compareTo(low) >= 0 && (patchUpper == null || version.compareTo(patchUpper) < 0);
+        case "^":
+            // changes are allowed after the first non zero part
+            int significant = length == 0 ? 0 : parts[0] != 0 || length == 1 ? 1 : parts[1] != 0 || length == 2 ? 2 : 3;
+            NodeJSVersion upper = next(parts, significant);
+            return version.compareTo(low) >= 0 && (upper == null || version.compareTo(upper) < 0);
+        case "":
+        case "=":
+            return version.compareTo(low) >= 0 && (next == null || version.compareTo(next) < 0);
+        default:
+            return false;
+        }
+    }
+
+    /*
+     * The first version that does not match the first length parts.
+     */
+    @CheckForNull
+    private static NodeJSVersion next(int[] parts, int length) {
+        switch (length) {
+        case 1:
+            return new NodeJSVersion(parts[0] + 1, 0, 0);
+        case 2:
+            return new NodeJSVersion(parts[0], parts[1] + 1, 0);
+        case 3:
+            return new NodeJSVersion(parts[0], parts[1], parts[2] + 1);
+        default:
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.ProxyConfiguration;
+import hudson.model.Computer;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.NodeJSConstants;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Resolves once on the controller the global npm packages of an installer to
+ * exact versions, so that all agents install the same versions without
+ * resolving ranges against the registry.
+ * <p>
+ * The lock is stored in the controller cache and it is resolved again when
+ * older than the package refresh period of the installer. Specs that are not
+ * resolved from the registry (URL, git, paths) are kept as they are. The
+ * registry is configured with {@code NodeJSInstaller.npmLock.registry}, the
+ * npmrc of the installations is not used.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ final class NpmPackagesLock {
+
+    private static final String REGISTRY = StringUtils.appendIfMissing(System.getProperty(NodeJSInstaller.class.getName() + ".npmLock.registry", "https://" + NodeJSConstants.DEFAULT_NPM_REGISTRY), "/"); // NOSONAR
+    private static final String ABBREVIATED_METADATA = "application/vnd.npm.install-v1+json";
+    private static final int TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+    /**
+     * package list digest -> resolution in progress.
+     */
+    private static final ConcurrentMap<String, CompletableFuture<List<String>>> RESOLUTIONS = new ConcurrentHashMap<>();
+
+    private NpmPackagesLock() {
+        // default constructor
+    }
+
+    /**
+     * Returns the package specs of the installer pinned to exact versions.
+     *
+     * @param npmPackages the global packages of the installer
+     * @param refreshHours how long the lock is valid
+     * @param log where report resolution failures
+     * @return the pinned package specs
+     */
+    @NonNull
+    /* package */ static List<String> pin(@NonNull String npmPackages, long refreshHours, @NonNull TaskListener log) throws IOException, InterruptedException {
+        List<String> specs = NpmPackagesRecord.specs(npmPackages);
+        String digest = NodeJSInstaller.getPackagesDigest(npmPackages);
+        File lock = new File(Jenkins.get().getRootDir(), "caches/nodejs/npm-locks/" + digest + ".lock");
+        // the lock file is replaced atomically, it is read without waiting
+        if (isCurrent(lock, refreshHours)) {
+            return read(lock);
+        }
+
+        // concurrent installations of the same package list await the same resolution
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        CompletableFuture<List<String>> inFlight = RESOLUTIONS.putIfAbsent(digest, future);
+        if (inFlight != null) {
+            try {
+                return inFlight.get();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        try {
+            List<String> pinned = isCurrent(lock, refreshHours) ? read(lock) : resolve(specs, lock, log);
+            future.complete(pinned);
+            return pinned;
+        } catch (Throwable e) { // NOSONAR
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            RESOLUTIONS.remove(digest, future);
+        }
+    }
+
+    private static boolean isCurrent(File lock, long refreshHours) {
+        return lock.exists() && System.currentTimeMillis() < lock.lastModified() + TimeUnit.HOURS.toMillis(refreshHours);
+    }
+
+    /*
+     * Resolves all specs at the same time, so the slowest package lookup bounds the time spent.
+     */
+    private static List<String> resolve(List<String> specs, File lock, TaskListener log) throws IOException, InterruptedException {
+        List<CompletableFuture<String>> resolutions = new ArrayList<>();
+        for (String spec : specs) {
+            resolutions.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return resolve(spec);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, Computer.threadPoolForRemoting));
+        }
+
+        List<String> pinned = new ArrayList<>();
+        try {
+            for (CompletableFuture<String> resolution : resolutions) {
+                pinned.add(resolution.get());
+            }
+        } catch (ExecutionException e) {
+            // the lock does not read the npmrc of the installations, private registries need the system property
+            log.error(Messages.NpmPackagesLock_resolutionFailed(e.getCause().getMessage(), REGISTRY));
+            // a stale lock is better than letting each agent resolve
+            return lock.exists() ? read(lock) : specs;
+        }
+
+        Path tmp = new File(lock.getPath() + ".tmp").toPath();
+        Files.createDirectories(tmp.getParent());
+        Files.write(tmp, pinned, StandardCharsets.UTF_8);
+        Files.move(tmp, lock.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        log.getLogger().println(Messages.NpmPackagesLock_resolved(String.join(" ", pinned)));
+        return pinned;
+    }
+
+    private static List<String> read(File lock) throws IOException {
+        List<String> pinned = new ArrayList<>();
+        for (String line : Files.readAllLines(lock.toPath(), StandardCharsets.UTF_8)) {
+            if (StringUtils.isNotBlank(line)) {
+                pinned.add(line.trim());
+            }
+        }
+        return pinned;
+    }
+
+    /*
+     * Pins a single spec using the abbreviated package metadata of the registry.
+     */
+    private static String resolve(String spec) throws IOException {
+        String name = NpmPackagesRecord.nameOf(spec);
+        if (name == null) {
+            return spec;
+        }
+
+        URLConnection con = ProxyConfiguration.open(new URL(REGISTRY + name.replace("/", "%2F")));
+        // installations wait for the lock, do not hang on unreachable registries
+        con.setConnectTimeout(TIMEOUT);
+        con.setReadTimeout(TIMEOUT);
+        con.setRequestProperty("Accept", ABBREVIATED_METADATA);
+        JSONObject metadata;
+        try (InputStream in = con.getInputStream()) {
+            metadata = JSONObject.fromObject(IOUtils.toString(in, StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            throw new IOException(Messages.NpmPackagesLock_invalidMetadata(name), e);
+        }
+
+        String version = resolveVersion(metadata, spec.substring(name.length()).replaceFirst("^@", ""));
+        if (version == null) {
+            throw new IOException(Messages.NpmPackagesLock_noMatch(spec));
+        }
+        return name + '@' + version;
+    }
+
+    /**
+     * Returns the version of the package metadata that satisfies the given
+     * dist-tag or semver range, pre-release versions are chosen only if
+     * explicitly requested.
+     *
+     * @param metadata package metadata from the registry
+     * @param range dist-tag, version or semver range, empty for latest
+     * @return the version, {@code null} if no version satisfies the range
+     */
+    @CheckForNull
+    /* package */ static String resolveVersion(@NonNull JSONObject metadata, @NonNull String range) {
+        String tag = range.isEmpty() ? "latest" : range;
+        JSONObject distTags = metadata.optJSONObject("dist-tags");
+        if (distTags != null && distTags.has(tag)) {
+            return distTags.getString(tag);
+        }
+
+        JSONObject versions = metadata.optJSONObject("versions");
+        if (versions == null) {
+            return null;
+        }
+        if (versions.has(range)) {
+            return range;
+        }
+
+        NodeJSVersion best = null;
+        String bestVersion = null;
+        for (Iterator<?> it = versions.keys(); it.hasNext();) {
+            String candidate = (String) it.next();
+            if (candidate.contains("-") || candidate.contains("+")) {
+                continue;
+            }
+            NodeJSVersion version;
+            try {
+                version = NodeJSVersion.parseVersion(candidate);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            // only npm ranges, the nvm aliases are not valid package versions
+            if ((best == null || version.compareTo(best) > 0) && NodeJSVersionResolver.satisfiesRange(range, version)) {
+                best = version;
+                bestVersion = candidate;
+            }
+        }
+        return bestVersion;
+    }
+
+}
@@ -0,0 +1,418 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Record of the global npm packages installed in a NodeJS installation. For
+ * each requested package spec keeps the package name, the installed version
+ * and when it was installed, so that a change of the package list is
+ * reconciled installing only the added specs and removing the dropped ones.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ final class NpmPackagesRecord {
+
+    /* package */ static final String FILENAME = ".npmPackages.json";
+
+    /* package */ static final class Entry {
+        private final String spec;
+        private final String name;
+        private final String version;
+        private final long installed;
+
+        Entry(String spec, String name, String version, long installed) {
+            this.spec = spec;
+            this.name = name;
+            this.version = version;
+            this.installed = installed;
+        }
+
+        public String getSpec() {
+            return spec;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public long getInstalled() {
+            return installed;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Splits the package list of the installer in specs, duplicates are
+     * removed.
+     *
+     * @param npmPackages white space separated package specs
+     * @return the package specs
+     */
+    @NonNull
+    /* package */ static List<String> specs(@NonNull String npmPackages) {
+        Set<String> specs = new LinkedHashSet<>();
+        for (String spec : npmPackages.trim().split("\\s+")) {
+            if (!spec.isEmpty()) {
+                specs.add(spec);
+            }
+        }
+        return new ArrayList<>(specs);
+    }
+
+    /**
+     * Returns the package name of a registry spec like {@code name},
+     * {@code name@version} or {@code @scope/name@range}.
+     *
+     * @param spec package spec
+     * @return the package name, {@code null} for specs that are not resolved
+     *         from the registry (URL, git, paths, aliases)
+     */
+    @CheckForNull
+    /* package */ static String nameOf(@NonNull String spec) {
+        int versionIndex = spec.indexOf('@', spec.startsWith("@") ? 1 : 0);
+        String name = versionIndex == -1 ? spec : spec.substring(0, versionIndex);
+        if (name.isEmpty() || name.contains(":") || name.startsWith(".") || spec.contains("@npm:")) {
+            return null;
+        }
+        int slash = name.indexOf('/');
+        if (slash != -1 && (!name.startsWith("@") || name.indexOf('/', slash + 1) != -1)) {
+            // github shortcut or path
+            return null;
+        }
+        return name;
+    }
+
+    /**
+     * Tests if all specs are registry packages, which could be refreshed one
+     * by one knowing their folder.
+     *
+     * @param specs package specs
+     * @return {@code true} if the name of all packages is known
+     */
+    /* package */ static boolean isSwappable(@NonNull List<String> specs) {
+        for (String spec : specs) {
+            if (nameOf(spec) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the record of the installation.
+     *
+     * @param home the NodeJS installation
+     * @return the record, {@code null} if missing or not readable
+     */
+    @CheckForNull
+    /* package */ static NpmPackagesRecord read(@NonNull FilePath home) throws IOException, InterruptedException {
+        FilePath file = home.child(FILENAME);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            NpmPackagesRecord record = new NpmPackagesRecord();
+            JSONArray packages = JSONObject.fromObject(file.readToString()).getJSONArray("packages");
+            for (int i = 0; i < packages.size(); i++) {
+                JSONObject p = packages.getJSONObject(i);
+                record.add(new Entry(p.getString("spec"), p.optString("name", null), p.optString("version", null), p.optLong("installed")));
+            }
+            return record;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    /* package */ void write(@NonNull FilePath home) throws IOException, InterruptedException {
+        JSONArray packages = new JSONArray();
+        for (Entry entry : entries.values()) {
+            JSONObject p = new JSONObject();
+            p.put("spec", entry.spec);
+            p.put("name", entry.name);
+            p.put("version", entry.version);
+            p.put("installed", entry.installed);
+            packages.add(p);
+        }
+        JSONObject json = new JSONObject();
+        json.put("packages", packages);
+        home.child(FILENAME).write(json.toString(2), "UTF-8");
+    }
+
+    /* package */ void add(@NonNull Entry entry) {
+        entries.put(entry.spec, entry);
+    }
+
+    @NonNull
+    /* package */ Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * Tests if the installation could be moved from this record to the given
+     * specs without reinstalling all packages, that is when all packages
+     * names are known.
+     *
+     * @param specs the requested package specs
+     * @return {@code true} if the difference could be applied
+     */
+    /* package */ boolean isReconcilable(@NonNull List<String> specs) {
+        if (!isSwappable(specs)) {
+            return false;
+        }
+        for (Entry entry : entries.values()) {
+            if (entry.name == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the specs not installed yet, new packages or packages whose
+     * spec has changed.
+     */
+    @NonNull
+    /* package */ List<String> added(@NonNull List<String> specs) {
+        List<String> added = new ArrayList<>();
+        for (String spec : specs) {
+            if (!entries.containsKey(spec)) {
+                added.add(spec);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Returns the names of installed packages no longer requested.
+     */
+    @NonNull
+    /* package */ List<String> removed(@NonNull List<String> specs) {
+        Set<String> requestedNames = new LinkedHashSet<>();
+        for (String spec : specs) {
+            requestedNames.add(nameOf(spec));
+        }
+        List<String> removed = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (!specs.contains(entry.spec) && !requestedNames.contains(entry.name)) {
+                removed.add(entry.name);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Builds the record of the installation after the given specs have been
+     * installed.
+     *
+     * @param home the NodeJS installation
+     * @param platform of the node
+     * @param specs the requested package specs
+     * @param previous the record before the installation, entries of
+     *        unchanged specs keep their install time
+     * @return the new record
+     */
+    @NonNull
+    /* package */ static NpmPackagesRecord build(@NonNull FilePath home,
+                                                 @NonNull Platform platform,
+                                                 @NonNull List<String> specs,
+                                                 @CheckForNull NpmPackagesRecord previous) throws IOException, InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (String spec : specs) {
+            String name = nameOf(spec);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        Map<String, String> versions = home.act(new InstalledVersions(platform == Platform.WINDOWS ? "node_modules" : "lib/node_modules", names));
+
+        long now = System.currentTimeMillis();
+        NpmPackagesRecord record = new NpmPackagesRecord();
+        for (String spec : specs) {
+            String name = nameOf(spec);
+            Entry old = previous != null ? previous.entries.get(spec) : null;
+            record.add(new Entry(spec, name, name != null ? versions.get(name) : null, old != null ? old.installed : now));
+        }
+        return record;
+    }
+
+    /**
+     * Moves the packages installed in a side prefix, beside the installation,
+     * in place of the current ones. Each package folder is replaced with two
+     * renames, so it is missing only for the time between them, bin shims
+     * are replaced atomically. The prefix could be the installation itself,
+     * which also contains npm, so it can not be replaced as a whole.
+     */
+    /* package */ static final class Swap extends MasterToSlaveFileCallable<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final String sidePrefix;
+        private final boolean windows;
+        private final List<String> specs;
+
+        Swap(String sidePrefix, boolean windows, List<String> specs) {
+            this.sidePrefix = sidePrefix;
+            this.windows = windows;
+            this.specs = new ArrayList<>(specs);
+        }
+
+        @Override
+        public Void invoke(File home, VirtualChannel channel) throws IOException {
+            File side = new File(sidePrefix);
+            String modulesFolder = windows ? "node_modules" : "lib/node_modules";
+            Set<String> commands = new LinkedHashSet<>();
+            for (String spec : specs) {
+                String name = nameOf(spec);
+                if (name == null) {
+                    continue;
+                }
+                File fresh = new File(new File(side, modulesFolder), name);
+                if (!fresh.isDirectory()) {
+                    continue;
+                }
+                commands.addAll(commandsOf(name, new File(fresh, "package.json")));
+                File target = new File(new File(home, modulesFolder), name);
+                File parent = target.getParentFile();
+                Files.createDirectories(parent.toPath());
+                File old = new File(parent, "." + target.getName() + ".old");
+                Util.deleteRecursive(old);
+                if (target.exists()) {
+                    Files.move(target.toPath(), old.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                Files.move(fresh.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                Util.deleteRecursive(old);
+            }
+
+            // shims are relative to the prefix so they work once moved, on
+            // Windows they are at the root of the prefix together with the
+            // NodeJS executables, so only those of the swapped packages are moved
+            File sideBin = windows ? side : new File(side, "bin");
+            File bin = windows ? home : new File(home, "bin");
+            for (String command : commands) {
+                for (String shim : windows ? new String[] { command, command + ".cmd", command + ".ps1" } : new String[] { command }) {
+                    Path source = new File(sideBin, shim).toPath();
+                    if (Files.exists(source, LinkOption.NOFOLLOW_LINKS) && !Files.isDirectory(source, LinkOption.NOFOLLOW_LINKS)) {
+                        Files.move(source, new File(bin, shim).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /*
+         * The commands declared in the bin field of the package, npm names
+         * the single command after the package without scope.
+         */
+        private static Set<String> commandsOf(String name, File packageJSON) throws IOException {
+            Set<String> commands = new LinkedHashSet<>();
+            commands.add(name.startsWith("@") ? StringUtils.substringAfter(name, "/") : name);
+            if (!packageJSON.isFile()) {
+                return commands;
+            }
+            try {
+                Object bin = JSONObject.fromObject(new String(Files.readAllBytes(packageJSON.toPath()), StandardCharsets.UTF_8)).opt("bin");
+                if (bin instanceof JSONObject) {
+                    for (Object command : ((JSONObject) bin).keySet()) {
+                        String commandName = String.valueOf(command);
+                        // a command could not escape the bin folder
+                        if (!commandName.isEmpty() && commandName.indexOf('/') == -1 && commandName.indexOf('\\') == -1 && !commandName.startsWith(".")) {
+                            commands.add(commandName);
+                        }
+                    }
+                }
+            } catch (JSONException e) { // NOSONAR
+                // invalid package.json, npm would not have linked any other command
+            }
+            return commands;
+        }
+    }
+
+    /*
+     * Reads the version of the installed global packages.
+     */
+    private static final class InstalledVersions extends MasterToSlaveFileCallable<Map<String, String>> {
+        private static final long serialVersionUID = 1L;
+        private static final Pattern VERSION_PATTERN = Pattern.compile("\"version\"\\s*:\\s*\"([^\"]+)\"");
+
+        private final String modulesFolder;
+        private final List<String> names;
+
+        InstalledVersions(String modulesFolder, List<String> names) {
+            this.modulesFolder = modulesFolder;
+            this.names = names;
+        }
+
+        @Override
+        public Map<String, String> invoke(File home, VirtualChannel channel) throws IOException {
+            Map<String, String> versions = new HashMap<>();
+            for (String name : names) {
+                File packageJSON = new File(new File(home, modulesFolder), name + "/package.json");
+                if (packageJSON.isFile()) {
+                    Matcher m = VERSION_PATTERN.matcher(new String(Files.readAllBytes(packageJSON.toPath()), StandardCharsets.UTF_8));
+                    if (m.find()) {
+                        versions.put(name, StringUtils.trim(m.group(1)));
+                    }
+                }
+            }
+            return versions;
+        }
+    }
+
+}
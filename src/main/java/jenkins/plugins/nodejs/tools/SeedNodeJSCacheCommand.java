@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.Option;
+
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import hudson.util.StreamTaskListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.nodejs.Messages;
+
+/**
+ * Seeds the controller cache of NodeJS archives from a local directory.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ * @see NodeJSCacheSeeder
+ */
+@Extension
+public class SeedNodeJSCacheCommand extends CLICommand {
+
+    @Argument(metaVar = "DIRECTORY", usage = "Directory on the controller that contains nodejs.org archives and their SHASUMS256.txt", required = true)
+    public String directory;
+
+    @Option(name = "-parallelism", usage = "Number of archives converted concurrently")
+    public int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+
+    @Override
+    public String getName() {
+        return "seed-nodejs-cache";
+    }
+
+    @Override
+    public String getShortDescription() {
+        return Messages.SeedNodeJSCacheCommand_shortDescription();
+    }
+
+    @Override
+    protected int run() throws Exception {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        StreamTaskListener log = new StreamTaskListener(stdout, getClientCharset());
+        NodeJSCacheSeeder.Result result = new NodeJSCacheSeeder(new File(directory), parallelism).seed(log);
+        return result.getFailed() == 0 ? 0 : 1;
+    }
+
+}
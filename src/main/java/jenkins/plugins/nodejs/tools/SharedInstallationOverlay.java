@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Builds a tool home as overlay of a shared NodeJS installation.
+ * <p>
+ * Every entry of the shared installation is linked with a relative symbolic
+ * link except for the folders where npm installs global packages
+ * ({@code bin} and {@code lib/node_modules}) that are real folders, so that
+ * global packages of a tool do not modify the shared installation. The node
+ * executable is hard linked because npm calculates the global prefix from the
+ * real path of the running node executable. The Corepack home is not shared
+ * because the package managers to prepare depend on the installer.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+/* package */ class SharedInstallationOverlay extends MasterToSlaveFileCallable<Void> {
+    private static final long serialVersionUID = 1L;
+
+    private static final String INSTALLED_FROM = ".installedFrom";
+
+    private final String shared;
+
+    SharedInstallationOverlay(String shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public Void invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+        Path overlay = f.toPath();
+        Path base = Paths.get(shared);
+
+        if (Files.exists(overlay, LinkOption.NOFOLLOW_LINKS)) {
+            // symbolic links are removed without follow them
+            new FilePath(f).deleteRecursive();
+        }
+        Files.createDirectories(overlay);
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(base)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                Path target = overlay.resolve(name);
+                if (INSTALLED_FROM.equals(name)) {
+                    // written at the end when the overlay is complete
+                    continue;
+                } else if (NodeJSInstaller.COREPACK_HOME_FOLDER.equals(name)) {
+                    // prepared in a real folder of each overlay
+                    continue;
+                } else if ("bin".equals(name) && isDirectory(entry)) {
+                    overlayBin(entry, target);
+                } else if ("lib".equals(name) && isDirectory(entry)) {
+                    overlayLib(entry, target);
+                } else {
+                    link(entry, target);
+                }
+            }
+        }
+
+        Path installedFrom = base.resolve(INSTALLED_FROM);
+        if (Files.exists(installedFrom)) {
+            Files.copy(installedFrom, overlay.resolve(INSTALLED_FROM), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return null;
+    }
+
+    private void overlayBin(Path bin, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(bin)) {
+            for (Path entry : entries) {
+                Path dest = target.resolve(entry.getFileName().toString());
+                if (Files.isSymbolicLink(entry)) {
+                    // npm, npx and corepack are relative links to lib/node_modules
+                    Files.createSymbolicLink(dest, Files.readSymbolicLink(entry));
+                } else if (Files.isRegularFile(entry)) {
+                    hardLink(entry, dest);
+                } else {
+                    link(entry, dest);
+                }
+            }
+        }
+    }
+
+    private void overlayLib(Path lib, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(lib)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                Path dest = target.resolve(name);
+                if ("node_modules".equals(name) && isDirectory(entry)) {
+                    Files.createDirectories(dest);
+                    try (DirectoryStream<Path> modules = Files.newDirectoryStream(entry)) {
+                        for (Path module : modules) {
+                            link(module, dest.resolve(module.getFileName().toString()));
+                        }
+                    }
+                } else {
+                    link(entry, dest);
+                }
+            }
+        }
+    }
+
+    private static boolean isDirectory(Path path) {
+        return Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static void link(Path source, Path link) throws IOException {
+        Path parent = link.getParent();
+        Path target = parent != null ? parent.relativize(source) : source;
+        Files.createSymbolicLink(link, target);
+    }
+
+    private static void hardLink(Path source, Path link) throws IOException {
+        try {
+            Files.createLink(link, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            // different file store, fallback to a copy
+            Files.copy(source, link, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+}
@@ -23,21 +23,33 @@
  */
 package jenkins.plugins.nodejs.tools;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import hudson.Util;
 import hudson.model.Node;
 import hudson.model.DownloadService.Downloadable;
 import hudson.tools.DownloadFromUrlInstaller.Installable;
-import hudson.tools.DownloadFromUrlInstaller.InstallableList;
 import jenkins.plugins.nodejs.Messages;
+import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
 /*package */ class ToolsUtils {
 
+    private static final String DOWNLOADABLE_ID = "hudson.plugins.nodejs.tools.NodeJSInstaller";
+    private static volatile InstallablesSnapshot snapshot; // NOSONAR
+
     private ToolsUtils() {
     }
 
@@ -77,20 +89,102 @@ import net.sf.json.JSONObject;
         }
     }
 
-    public static List<? extends Installable> getInstallable() throws IOException {
-        List<Installable> installables = Collections.emptyList();
-
-        Downloadable downloadable = Downloadable.get("hudson.plugins.nodejs.tools.NodeJSInstaller");
-        if (downloadable != null) {
-            JSONObject d = downloadable.getData();
-            if (d != null) {
-                installables = Arrays.asList(((InstallableList) JSONObject.toBean(d, InstallableList.class)).list).stream() //
-                        .filter(i -> !InstallerPathResolver.Factory.isVersionBlacklisted(i.id)) //
-                        .sorted(new InstallableComparator()) //
-                        .collect(Collectors.toList());
+    /**
+     * Calculates the SHA-256 of the given file.
+     *
+     * @param file to digest
+     * @return the hexadecimal representation of the digest
+     * @throws IOException in case of failure reading the file
+     */
+    public static String sha256(Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
             }
+            return Util.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Returns the installables published by the update center sorted from
+     * the newest version.
+     * <p>
+     * The list is built once for each update of the downloadable data.
+     *
+     * @return an unmodifiable list of installables
+     * @throws IOException if the downloadable data could not be read
+     */
+    public static List<? extends Installable> getInstallable() throws IOException {
+        Downloadable downloadable = Downloadable.get(DOWNLOADABLE_ID);
+        if (downloadable == null) {
+            return Collections.emptyList();
+        }
+
+        File dataFile = downloadable.getDataFile().file;
+        InstallablesSnapshot current = snapshot;
+        if (current != null && current.isFor(dataFile)) {
+            return current.installables;
+        }
+
+        // stat the file before read it, a concurrent update is caught next time
+        InstallablesSnapshot update = new InstallablesSnapshot(dataFile);
+        JSONObject d = downloadable.getData();
+        update.installables = d != null ? parse(d) : Collections.emptyList();
+        snapshot = update;
+        return update.installables;
+    }
+
+    /**
+     * Converts the downloadable data into installables, sorted from the newest
+     * version and without the versions that can not be installed.
+     *
+     * @param data the downloadable data
+     * @return an unmodifiable list of installables
+     */
+    /* package */ static List<Installable> parse(JSONObject data) {
+        JSONArray list = data.optJSONArray("list");
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return IntStream.range(0, list.size()) //
+                .mapToObj(list::getJSONObject) //
+                .map(ToolsUtils::toInstallable) //
+                .filter(i -> !InstallerPathResolver.Factory.isVersionBlacklisted(i.id)) //
+                // parse each version once instead of at each comparison
+                .map(i -> new SimpleImmutableEntry<>(NodeJSVersion.parseVersion(i.id), i)) //
+                .sorted(Map.Entry.<NodeJSVersion, Installable> comparingByKey().reversed()) //
+                .map(Map.Entry::getValue) //
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    private static Installable toInstallable(JSONObject json) {
+        Installable installable = new Installable();
+        installable.id = json.optString("id", null);
+        installable.name = json.optString("name", null);
+        installable.url = json.optString("url", null);
+        return installable;
+    }
+
+    private static final class InstallablesSnapshot {
+        private final String path;
+        private final long timestamp;
+        private final long length;
+        private List<Installable> installables;
+
+        InstallablesSnapshot(File dataFile) {
+            this.path = dataFile.getPath();
+            this.timestamp = dataFile.lastModified();
+            this.length = dataFile.length();
+        }
+
+        boolean isFor(File dataFile) {
+            return path.equals(dataFile.getPath()) && timestamp == dataFile.lastModified() && length == dataFile.length();
         }
-        return installables;
     }
 
-}
\ No newline at end of file
+}
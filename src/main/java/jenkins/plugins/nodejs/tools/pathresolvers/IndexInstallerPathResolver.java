@@ -0,0 +1,326 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools.pathresolvers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.ProxyConfiguration;
+import jenkins.plugins.nodejs.Messages;
+import jenkins.plugins.nodejs.tools.CPU;
+import jenkins.plugins.nodejs.tools.InstallerPathResolver;
+import jenkins.plugins.nodejs.tools.NodeJSInstaller;
+import jenkins.plugins.nodejs.tools.NodeJSVersion;
+import jenkins.plugins.nodejs.tools.Platform;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Resolves the name of the installer from the {@code index.json} published by
+ * nodejs.org and its mirrors, that lists the files available for each
+ * version.
+ * <p>
+ * The lookup is enabled with {@code NodeJSInstaller.index.enabled}. The index
+ * is kept in memory and revalidated with a conditional request when older
+ * than {@code NodeJSInstaller.index.ttlMinutes} minutes. A version known by
+ * the index but not published for a platform and CPU is rejected without any
+ * download. Versions missing from the index, or an index that could not be
+ * fetched, fall back to {@link LatestInstallerPathResolver}. Windows versions
+ * that the built-in rules install from an MSI keep it when listed.
+ *
+ * @author Nikolas Falco
+ * @since 1.7.0
+ */
+public class IndexInstallerPathResolver implements InstallerPathResolver {
+    private static final Logger LOGGER = Logger.getLogger(IndexInstallerPathResolver.class.getName());
+
+    private static final String INDEX_FILE = "index.json";
+    private static final boolean ENABLED = Boolean.getBoolean(NodeJSInstaller.class.getName() + ".index.enabled"); // NOSONAR
+    private static final long TTL_MINUTES = Long.getLong(NodeJSInstaller.class.getName() + ".index.ttlMinutes", 60); // NOSONAR
+    private static final int TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+    private static final ConcurrentMap<String, Index> INDEXES = new ConcurrentHashMap<>();
+
+    private final String distURL;
+    private final LatestInstallerPathResolver fallback = new LatestInstallerPathResolver();
+
+    /**
+     * Default constructor.
+     *
+     * @param distURL the URL of the folder that contains the index and the
+     *        version folders, like {@code https://nodejs.org/dist/}
+     */
+    public IndexInstallerPathResolver(@NonNull String distURL) {
+        this.distURL = StringUtils.appendIfMissing(distURL, "/");
+    }
+
+    /**
+     * Returns if the index is used to resolve the installers.
+     *
+     * @return {@code true} if enabled and the time to live is not zero
+     */
+    public static boolean isEnabled() {
+        // the index is fetched while builds install the tool, offline controllers would wait for it
+        return ENABLED && TTL_MINUTES > 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * jenkins.plugins.nodejs.tools.InstallerPathResolver#resolvePathFor(java.
+     * lang.String, jenkins.plugins.nodejs.tools.Platform,
+     * jenkins.plugins.nodejs.tools.CPU)
+     */
+    @Override
+    public String resolvePathFor(String version, Platform platform, CPU cpu) {
+        Set<String> files = getIndex().versions.get(version);
+        if (files == null) {
+            return fallback.resolvePathFor(version, platform, cpu);
+        }
+        String path = resolvePath(version, platform, cpu, files);
+        if (path == null) {
+            throw new IllegalArgumentException(Messages.InstallerPathResolver_notPublished(version, cpu.name(), platform.name(), distURL));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the path of the smallest installer, among the formats that the
+     * installer is able to unpack, listed in the files of the version. On
+     * Windows the MSI is kept for the versions the built-in rules install
+     * from it.
+     *
+     * @param version of NodeJS
+     * @param platform of the node
+     * @param cpu of the node
+     * @param files the entries of the version in the index, like
+     *        {@code linux-x64} or {@code win-x64-zip}
+     * @return the relative path of the installer, {@code null} if not published
+     */
+    @CheckForNull
+    /* package */ static String resolvePath(String version, Platform platform, CPU cpu, Set<String> files) {
+        String arch = cpu == CPU.i386 ? "x86" : cpu == CPU.amd64 ? "x64" : cpu.name();
+        switch (platform) {
+        case WINDOWS:
+            // the first 64 bit MSI were published in a sub folder
+            boolean legacy = cpu == CPU.amd64 && NodeJSVersion.parseVersion(version).getMajor() < 4;
+            String msi = files.contains("win-" + arch + "-msi") ? (legacy ? "x64/" : "") + "node-v" + version + "-" + arch + ".msi" : null;
+            if (msi != null && new LatestInstallerPathResolver().isMSI(version)) {
+                // same URL of the built-in rules, a different one would reinstall the existing tools
+                return msi;
+            }
+            if (files.contains("win-" + arch + "-zip")) {
+                return "node-v" + version + "-win-" + arch + ".zip";
+            }
+            return msi;
+        case OSX:
+            return files.contains("osx-" + arch + "-tar") ? "node-v" + version + "-darwin-" + arch + ".tar.gz" : null;
+        case LINUX:
+        case SUNOS:
+        case AIX:
+            String os = platform.name().toLowerCase(Locale.ENGLISH);
+            return files.contains(os + "-" + arch) ? "node-v" + version + "-" + os + "-" + arch + ".tar.gz" : null;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Parses the index into a map of version to published files.
+     *
+     * @param json the content of {@code index.json}
+     * @return the files of each version, the version is without the leading v
+     * @throws JSONException if the content is not a valid index
+     */
+    /* package */ static Map<String, Set<String>> parse(String json) {
+        return parseFiles(JSONArray.fromObject(json));
+    }
+
+    /**
+     * Parses the index into a map of version to LTS codename.
+     *
+     * @param json the content of {@code index.json}
+     * @return the lower case codename of each LTS version, the version is
+     *         without the leading v
+     * @throws JSONException if the content is not a valid index
+     */
+    /* package */ static Map<String, String> parseLTS(String json) {
+        return parseLTS(JSONArray.fromObject(json));
+    }
+
+    private static Map<String, Set<String>> parseFiles(JSONArray releases) {
+        Map<String, Set<String>> versions = new HashMap<>(releases.size() * 2);
+        for (int i = 0; i < releases.size(); i++) {
+            JSONObject release = releases.getJSONObject(i);
+            String version = StringUtils.removeStart(release.optString("version"), "v");
+            JSONArray files = release.optJSONArray("files");
+            if (StringUtils.isNotEmpty(version) && files != null) {
+                Set<String> published = new HashSet<>();
+                for (int j = 0; j < files.size(); j++) {
+                    published.add(files.getString(j));
+                }
+                versions.put(version, Collections.unmodifiableSet(published));
+            }
+        }
+        return Collections.unmodifiableMap(versions);
+    }
+
+    private static Map<String, String> parseLTS(JSONArray releases) {
+        Map<String, String> lts = new HashMap<>();
+        for (int i = 0; i < releases.size(); i++) {
+            JSONObject release = releases.getJSONObject(i);
+            String version = StringUtils.removeStart(release.optString("version"), "v");
+            // the field is false for current releases and the codename for LTS ones
+            Object codename = release.opt("lts");
+            if (StringUtils.isNotEmpty(version) && codename instanceof String) {
+                lts.put(version, ((String) codename).toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return Collections.unmodifiableMap(lts);
+    }
+
+    /**
+     * Returns if the version is listed in the index.
+     *
+     * @param version of NodeJS, without the leading v
+     * @return {@code true} if the index has been fetched and contains the
+     *         version
+     */
+    public boolean isIndexed(@NonNull String version) {
+        return getIndex().versions.containsKey(version);
+    }
+
+    /**
+     * Returns the codename of the LTS line the version belongs to.
+     *
+     * @param version of NodeJS, without the leading v
+     * @return the lower case codename, {@code null} if the version is not an
+     *         LTS release or it is not listed in the index
+     */
+    @CheckForNull
+    public String getLTSCodename(@NonNull String version) {
+        return getIndex().lts.get(version);
+    }
+
+    /**
+     * Returns the folder that contains the {@code index.json} given the URL of
+     * a version folder.
+     *
+     * @param versionURL like {@code https://nodejs.org/dist/v20.11.0/}
+     * @return the distribution folder, like {@code https://nodejs.org/dist}
+     */
+    @NonNull
+    public static String getDistURL(@NonNull String versionURL) {
+        return StringUtils.substringBeforeLast(StringUtils.removeEnd(versionURL, "/"), "/");
+    }
+
+    private Index getIndex() {
+        long now = System.currentTimeMillis();
+        Index previous = INDEXES.get(distURL);
+        if (previous != null && now - previous.fetched < TimeUnit.MINUTES.toMillis(TTL_MINUTES)) {
+            return previous;
+        }
+        // download outside of the map, a compute would block any other URL of the same bin
+        Index index = fetch(distURL, previous, now);
+        if (previous == null) {
+            Index current = INDEXES.putIfAbsent(distURL, index);
+            return current != null ? current : index;
+        }
+        if (!INDEXES.replace(distURL, previous, index)) {
+            // refreshed meanwhile by another thread
+            return INDEXES.getOrDefault(distURL, index);
+        }
+        return index;
+    }
+
+    /*
+     * Downloads the index, when a previous copy exists it is revalidated.
+     */
+    private static Index fetch(String distURL, @CheckForNull Index previous, long now) {
+        try {
+            URLConnection con = ProxyConfiguration.open(new URL(distURL + INDEX_FILE));
+            // the installation waits for the index, do not hang on unreachable mirrors
+            con.setConnectTimeout(TIMEOUT);
+            con.setReadTimeout(TIMEOUT);
+            if (previous != null && previous.etag != null) {
+                con.setRequestProperty("If-None-Match", previous.etag);
+            }
+            if (previous != null && previous.lastModified != null) {
+                con.setRequestProperty("If-Modified-Since", previous.lastModified);
+            }
+            if (previous != null && con instanceof HttpURLConnection
+                    && ((HttpURLConnection) con).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return new Index(previous.versions, previous.lts, previous.etag, previous.lastModified, now);
+            }
+            try (InputStream in = con.getInputStream()) {
+                JSONArray releases = JSONArray.fromObject(IOUtils.toString(in, StandardCharsets.UTF_8));
+                return new Index(parseFiles(releases), parseLTS(releases), con.getHeaderField("ETag"), con.getHeaderField("Last-Modified"), now);
+            }
+        } catch (IOException | JSONException e) {
+            LOGGER.log(Level.FINE, "Failed to fetch " + distURL + INDEX_FILE, e);
+            // retry after the time to live, meanwhile the versions rules are used
+            return previous != null ? new Index(previous.versions, previous.lts, previous.etag, previous.lastModified, now)
+                    : new Index(Collections.emptyMap(), Collections.emptyMap(), null, null, now);
+        }
+    }
+
+    private static final class Index {
+        private final Map<String, Set<String>> versions;
+        private final Map<String, String> lts;
+        private final String etag;
+        private final String lastModified;
+        private final long fetched;
+
+        Index(Map<String, Set<String>> versions, Map<String, String> lts, String etag, String lastModified, long fetched) {
+            this.versions = versions;
+            this.lts = lts;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetched = fetched;
+        }
+    }
+
+}
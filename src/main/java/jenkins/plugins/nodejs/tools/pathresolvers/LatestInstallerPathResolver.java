@@ -23,18 +23,24 @@
  */
 package jenkins.plugins.nodejs.tools.pathresolvers;
 
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import jenkins.plugins.nodejs.Messages;
 import jenkins.plugins.nodejs.tools.CPU;
 import jenkins.plugins.nodejs.tools.InstallerPathResolver;
 import jenkins.plugins.nodejs.tools.NodeJSVersion;
-import jenkins.plugins.nodejs.tools.NodeJSVersionRange;
 import jenkins.plugins.nodejs.tools.Platform;
 
 /**
  * Calculate the name of the installer for the specified version according the
  * architecture and CPU of the destination node.
+ * <p>
+ * The versions distributed for each platform and CPU are compiled once in a
+ * matrix of sorted intervals, each one with the path of its installer, so a
+ * lookup is a binary search.
  *
  * @author fcamblor
  * @author Nikolas Falco
@@ -44,123 +50,258 @@ public class LatestInstallerPathResolver implements InstallerPathResolver {
     private static final String EXTENSION_ZIP = "zip";
     private static final String EXTENSION_MSI = "msi";
 
-    private static final NodeJSVersionRange[] MSI_RANGES = new NodeJSVersionRange[] { new NodeJSVersionRange("[0, 4.5)"),
-                                                                                      new NodeJSVersionRange("[5, 6.2]") };
+    /*
+     * Windows installers were MSI before 4.5 and from 5 to 6.2, the 64 bit MSI
+     * before 4 is in the x64 folder.
+     */
+    private static final Format[] WINDOWS_FORMATS = {
+        new Format("[0, 4)", null, EXTENSION_MSI, true),
+        new Format("[4, 4.5)", null, EXTENSION_MSI, false),
+        new Format("[4.5, 5)", "win", EXTENSION_ZIP, false),
+        new Format("[5, 6.2]", null, EXTENSION_MSI, false),
+        new Format("(6.2, )", "win", EXTENSION_ZIP, false)
+    };
 
     /*
-     * (non-Javadoc)
-     *
-     * @see
-     * jenkins.plugins.nodejs.tools.InstallerPathResolver#resolvePathFor(java.
-     * lang.String, jenkins.plugins.nodejs.tools.Platform,
-     * jenkins.plugins.nodejs.tools.CPU)
+     * Versions distributed for each platform and CPU, an empty right endpoint
+     * means all later versions.
      */
-    @Override
-    public String resolvePathFor(String version, Platform platform, CPU cpu) {
-        String path = "";
-        String os = null;
-        String arch;
-        String extension;
-        boolean isMSI = false;
+    private static final Object[][] SUPPORT = {
+        { Platform.WINDOWS, CPU.i386, "[0, )" },
+        { Platform.WINDOWS, CPU.amd64, "[0, )" },
+        { Platform.WINDOWS, CPU.arm64, "[4, )" },
+        { Platform.WINDOWS, CPU.armv6l, "[4, 8.6.0)", "(8.6.0, 12)" },
+        { Platform.WINDOWS, CPU.armv7l, "[4, )" },
+        { Platform.LINUX, CPU.i386, "[0, 10)" },
+        { Platform.LINUX, CPU.amd64, "[0, )" },
+        { Platform.LINUX, CPU.arm64, "[4, )" },
+        { Platform.LINUX, CPU.armv6l, "[4, 8.6.0)", "(8.6.0, 12)" },
+        { Platform.LINUX, CPU.armv7l, "[4, )" },
+        { Platform.OSX, CPU.i386, "[0, 4)" },
+        { Platform.OSX, CPU.amd64, "[0, )" },
+        { Platform.OSX, CPU.arm64, "[16, )" },
+        { Platform.OSX, CPU.armv6l, "[4, 8.6.0)", "(8.6.0, 12)" },
+        { Platform.OSX, CPU.armv7l, "[4, )" },
+        { Platform.SUNOS, CPU.i386, "[0, 10)" },
+        { Platform.SUNOS, CPU.amd64, "[0, 0.12.18)", "(0.12.18, 7)", "[7.5, 14)" },
+        { Platform.SUNOS, CPU.arm64, "[4, )" },
+        { Platform.SUNOS, CPU.armv6l, "[4, 8.6.0)", "(8.6.0, 12)" },
+        { Platform.SUNOS, CPU.armv7l, "[4, )" },
+        { Platform.AIX, CPU.i386, "[0, )" },
+        { Platform.AIX, CPU.amd64, "[0, )" },
+        { Platform.AIX, CPU.arm64, "[4, )" },
+        { Platform.AIX, CPU.armv6l, "[4, 8.6.0)", "(8.6.0, 12)" },
+        { Platform.AIX, CPU.armv7l, "[4, )" },
+        { Platform.AIX, CPU.ppc64, "[6.7.0, )" }
+    };
 
-        switch (platform) {
-        case WINDOWS:
-            isMSI = isMSI(version);
-            if (!isMSI) {
-                os = "win";
-                extension = EXTENSION_ZIP;
-            } else {
-                extension = EXTENSION_MSI;
+    private static final Installer[][][] MATRIX = compile();
+
+    private static Installer[][][] compile() {
+        Installer[][][] matrix = new Installer[Platform.values().length][CPU.values().length][];
+        for (Installer[][] row : matrix) {
+            Arrays.fill(row, new Installer[0]);
+        }
+        for (Object[] support : SUPPORT) {
+            Platform platform = (Platform) support[0];
+            CPU cpu = (CPU) support[1];
+            Format[] formats = platform == Platform.WINDOWS ? WINDOWS_FORMATS : new Format[] { new Format("[0, )", getOS(platform), EXTENSION, false) };
+            String arch = getArch(cpu);
+
+            List<Installer> installers = new ArrayList<>();
+            // both supported intervals and formats are sorted, so are their intersections
+            for (int i = 2; i < support.length; i++) {
+                Interval supported = new Interval((String) support[i]);
+                for (Format format : formats) {
+                    Interval interval = supported.intersect(format);
+                    if (interval != null) {
+                        String path = format.legacy && cpu == CPU.amd64 ? "x64/" : "";
+                        String suffix = (format.os == null ? "-" : "-" + format.os + "-") + arch + "." + format.extension;
+                        installers.add(new Installer(interval, path + "node-v", suffix));
+                    }
+                }
             }
-            break;
+            matrix[platform.ordinal()][cpu.ordinal()] = installers.toArray(new Installer[0]);
+        }
+        return matrix;
+    }
+
+    private static String getOS(Platform platform) {
+        switch (platform) {
         case LINUX:
-            os = "linux";
-            extension = EXTENSION;
-            break;
+            return "linux";
         case OSX:
-            os = "darwin";
-            extension = EXTENSION;
-            break;
+            return "darwin";
         case SUNOS:
-            os = "sunos";
-            extension = EXTENSION;
-            break;
+            return "sunos";
         case AIX:
-            os = "aix";
-            extension = EXTENSION;
-            break;
+            return "aix";
         default:
-            throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedOS(version, platform.name()));
+            throw new IllegalArgumentException(platform.name());
         }
+    }
 
-        NodeJSVersion nodeVersion = NodeJSVersion.parseVersion(version);
+    private static String getArch(CPU cpu) {
         switch (cpu) {
         case i386:
-            if (platform == Platform.OSX && nodeVersion.compareTo(new NodeJSVersion(4, 0, 0)) >= 0 //
-                    || ((platform == Platform.SUNOS || platform == Platform.LINUX)
-                            && nodeVersion.compareTo(new NodeJSVersion(10, 0, 0)) >= 0)) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
-            }
-            arch = "x86";
-            break;
+            return "x86";
         case amd64:
-            if (platform == Platform.SUNOS && //
-                    (new NodeJSVersionRange("[7, 7.5)").includes(nodeVersion)
-                            || nodeVersion.compareTo(new NodeJSVersion(0, 12, 18)) == 0
-                            || nodeVersion.compareTo(new NodeJSVersion(14, 0, 0)) >= 0)) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
-            }
-            if (isMSI && nodeVersion.compareTo(new NodeJSVersion(4, 0, 0)) < 0) {
-                path = "x64/";
-            }
-            arch = "x64";
-            break;
-        case arm64:
-            if (nodeVersion.compareTo(new NodeJSVersion(4, 0, 0)) < 0) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+            return "x64";
+        default:
+            return cpu.name();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * jenkins.plugins.nodejs.tools.InstallerPathResolver#resolvePathFor(java.
+     * lang.String, jenkins.plugins.nodejs.tools.Platform,
+     * jenkins.plugins.nodejs.tools.CPU)
+     */
+    @Override
+    public String resolvePathFor(String version, Platform platform, CPU cpu) {
+        Installer installer = find(MATRIX[platform.ordinal()][cpu.ordinal()], NodeJSVersion.parseVersion(version));
+        if (installer == null) {
+            throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+        }
+        return installer.prefix + version + installer.suffix;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * jenkins.plugins.nodejs.tools.InstallerPathResolver#supports(java.
+     * lang.String, jenkins.plugins.nodejs.tools.Platform,
+     * jenkins.plugins.nodejs.tools.CPU)
+     */
+    @Override
+    public boolean supports(String version, Platform platform, CPU cpu) {
+        return find(MATRIX[platform.ordinal()][cpu.ordinal()], NodeJSVersion.parseVersion(version)) != null;
+    }
+
+    public boolean isMSI(String version) {
+        Format format = find(WINDOWS_FORMATS, NodeJSVersion.parseVersion(version));
+        return format != null && EXTENSION_MSI.equals(format.extension);
+    }
+
+    @CheckForNull
+    private static <T extends Interval> T find(T[] intervals, NodeJSVersion version) {
+        int low = 0;
+        int high = intervals.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = intervals[mid].locate(version);
+            if (cmp < 0) {
+                high = mid - 1;
+            } else if (cmp > 0) {
+                low = mid + 1;
+            } else {
+                return intervals[mid];
             }
-            if (platform == Platform.OSX && nodeVersion.compareTo(new NodeJSVersion(16, 0, 0)) < 0) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+        }
+        return null;
+    }
+
+    /*
+     * Interval of versions, a null right endpoint is infinity.
+     */
+    private static class Interval {
+        protected final NodeJSVersion left;
+        protected final boolean leftClosed;
+        protected final NodeJSVersion right;
+        protected final boolean rightClosed;
+
+        Interval(NodeJSVersion left, boolean leftClosed, NodeJSVersion right, boolean rightClosed) {
+            this.left = left;
+            this.leftClosed = leftClosed;
+            this.right = right;
+            this.rightClosed = rightClosed;
+        }
+
+        Interval(String range) {
+            String value = range.trim();
+            int comma = value.indexOf(',');
+            this.leftClosed = value.charAt(0) == '[';
+            this.left = NodeJSVersion.parseVersion(value.substring(1, comma));
+            this.rightClosed = value.charAt(value.length() - 1) == ']';
+            String endpoint = value.substring(comma + 1, value.length() - 1).trim();
+            this.right = endpoint.isEmpty() ? null : NodeJSVersion.parseVersion(endpoint);
+        }
+
+        Interval(Interval interval) {
+            this(interval.left, interval.leftClosed, interval.right, interval.rightClosed);
+        }
+
+        /*
+         * Returns a negative number if the version precedes the interval, a
+         * positive number if it follows the interval, zero if it is included.
+         */
+        int locate(NodeJSVersion version) {
+            int cmp = version.compareTo(left);
+            if (cmp < 0 || cmp == 0 && !leftClosed) {
+                return -1;
             }
-            arch = cpu.name();
-            break;
-        case armv6l:
-            if (nodeVersion.compareTo(new NodeJSVersion(12, 0, 0)) >= 0 || nodeVersion.compareTo(new NodeJSVersion(8, 6, 0)) == 0 || nodeVersion.compareTo(new NodeJSVersion(4, 0, 0)) < 0) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+            if (right != null) {
+                cmp = version.compareTo(right);
+                if (cmp > 0 || cmp == 0 && !rightClosed) {
+                    return 1;
+                }
             }
-            arch = cpu.name();
-            break;
-        case armv7l:
-            if (nodeVersion.compareTo(new NodeJSVersion(4, 0, 0)) < 0) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+            return 0;
+        }
+
+        @CheckForNull
+        Interval intersect(Interval other) {
+            int cmp = left.compareTo(other.left);
+            NodeJSVersion l = cmp >= 0 ? left : other.left;
+            boolean lClosed = cmp > 0 ? leftClosed : cmp < 0 ? other.leftClosed : leftClosed && other.leftClosed;
+
+            NodeJSVersion r;
+            boolean rClosed;
+            if (right == null || other.right == null) {
+                r = right == null ? other.right : right;
+                rClosed = right == null ? other.rightClosed : rightClosed;
+            } else {
+                cmp = right.compareTo(other.right);
+                r = cmp <= 0 ? right : other.right;
+                rClosed = cmp < 0 ? rightClosed : cmp > 0 ? other.rightClosed : rightClosed && other.rightClosed;
             }
-            arch = cpu.name();
-            break;
-        case ppc64:
-            if (platform != Platform.AIX || nodeVersion.compareTo(new NodeJSVersion(6, 7, 0)) < 0) {
-                throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), platform.name()));
+
+            if (r != null) {
+                cmp = l.compareTo(r);
+                if (cmp > 0 || cmp == 0 && !(lClosed && rClosed)) {
+                    return null;
+                }
             }
-            arch = cpu.name();
-            break;
-        default:
-            throw new IllegalArgumentException(Messages.InstallerPathResolver_unsupportedArch(version, cpu.name(), "unknown"));
+            return new Interval(l, lClosed, r, rClosed);
         }
+    }
 
-        if (os == null) {
-            return MessageFormat.format("{0}node-v{1}-{2}.{3}", path, version, arch, extension);
-        } else {
-            return MessageFormat.format("{0}node-v{1}-{2}-{3}.{4}", path, version, os, arch, extension);
+    private static final class Format extends Interval {
+        private final String os;
+        private final String extension;
+        private final boolean legacy;
+
+        Format(String range, String os, String extension, boolean legacy) {
+            super(range);
+            this.os = os;
+            this.extension = extension;
+            this.legacy = legacy;
         }
     }
 
-    public boolean isMSI(String version) {
-        NodeJSVersion currentVersion = new NodeJSVersion(version);
-        for (NodeJSVersionRange msiRange : MSI_RANGES) {
-            if (msiRange.includes(currentVersion)) {
-                return true;
-            }
+    private static final class Installer extends Interval {
+        private final String prefix;
+        private final String suffix;
+
+        Installer(Interval interval, String prefix, String suffix) {
+            super(interval);
+            this.prefix = prefix;
+            this.suffix = suffix;
         }
-        return false;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.model.Result;
+import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+import jenkins.plugins.nodejs.tools.Platform;
+
+@WithJenkins
+class NodeJSInstallStepTest {
+
+    @TempDir
+    private File home;
+
+    @Test
+    void nodejs_block_awaits_the_installation_started_in_background(JenkinsRule r) throws Exception {
+        Platform platform = Platform.current();
+        new FilePath(home).child(platform.binFolder).child(platform.nodeFileName).touch(0);
+        NodeJSInstallation installation = new NodeJSInstallation("node20", home.getAbsolutePath(), Collections.emptyList());
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations(installation);
+
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition(String.join("\n", //
+                "node {", //
+                "  nodejsInstall 'node20'", //
+                "  echo 'checkout'", //
+                "  nodejs('node20') {", //
+                "    echo \"home is ${env.NODEJS_HOME}\"", //
+                "  }", //
+                "}"), true));
+
+        WorkflowRun b = r.buildAndAssertSuccess(p);
+        r.assertLogContains("Awaited", b);
+        r.assertLogContains("home is " + home.getAbsolutePath(), b);
+    }
+
+    @Test
+    void unknown_installation_fails(JenkinsRule r) throws Exception {
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p2");
+        p.setDefinition(new CpsFlowDefinition("node { nodejsInstall 'missing' }", true));
+
+        r.assertLogContains(Messages.NodeJSBuilders_noInstallationFound("missing"), r.buildAndAssertStatus(Result.FAILURE, p));
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.Functions;
+import hudson.model.Result;
+import hudson.slaves.WorkspaceList;
+import jenkins.plugins.nodejs.tools.NodeJSInstallation;
+import jenkins.plugins.nodejs.tools.Platform;
+
+@WithJenkins
+class NodeJSMatrixStepTest {
+
+    @TempDir
+    private File home18;
+    @TempDir
+    private File home20;
+
+    @BeforeEach
+    void setup() {
+        assumeFalse(Functions.isWindows());
+    }
+
+    private void setupInstallations(JenkinsRule r) throws Exception {
+        Platform platform = Platform.current();
+        new FilePath(home18).child(platform.binFolder).child(platform.nodeFileName).touch(0);
+        new FilePath(home20).child(platform.binFolder).child(platform.nodeFileName).touch(0);
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations( //
+                new NodeJSInstallation("node18", home18.getAbsolutePath(), Collections.emptyList()), //
+                new NodeJSInstallation("node20", home20.getAbsolutePath(), Collections.emptyList()));
+    }
+
+    @Test
+    void runs_the_script_for_each_installation(JenkinsRule r) throws Exception {
+        setupInstallations(r);
+
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition(String.join("\n", //
+                "node {", //
+                "  def codes = nodejsMatrix(installations: ['node18', 'node20'], script: 'echo \"home=$NODEJS_HOME\"')", //
+                "  echo \"codes ${codes}\"", //
+                "}"), true));
+
+        WorkflowRun b = r.buildAndAssertSuccess(p);
+        r.assertLogContains("[node18] home=" + home18.getAbsolutePath(), b);
+        r.assertLogContains("[node20] home=" + home20.getAbsolutePath(), b);
+        r.assertLogContains("codes [node18:0, node20:0]", b);
+
+        FilePath workspace = r.jenkins.getWorkspaceFor(p);
+        assertThat(WorkspaceList.tempDir(workspace).child("nodejs-matrix").child("node18").exists()).isFalse();
+    }
+
+    @Test
+    void each_run_has_its_own_workspace(JenkinsRule r) throws Exception {
+        setupInstallations(r);
+
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p4");
+        p.setDefinition(new CpsFlowDefinition(String.join("\n", //
+                "node {", //
+                "  writeFile file: 'package.json', text: '{}'", //
+                "  nodejsMatrix(installations: ['node18', 'node20'], script: '''", //
+                "    test -f package.json", //
+                "    test \"$PWD\" = \"$WORKSPACE\"", //
+                "    mkdir node_modules", //
+                "    echo \"$NODEJS_HOME\" > node_modules/home", //
+                "    sleep 1", //
+                "    echo \"installed=$(cat node_modules/home)\"", //
+                "  ''')", //
+                "}"), true));
+
+        WorkflowRun b = r.buildAndAssertSuccess(p);
+        r.assertLogContains("[node18] installed=" + home18.getAbsolutePath(), b);
+        r.assertLogContains("[node20] installed=" + home20.getAbsolutePath(), b);
+
+        FilePath workspace = r.jenkins.getWorkspaceFor(p);
+        assertThat(workspace.child("node_modules").exists()).isFalse();
+        FilePath copies = WorkspaceList.tempDir(workspace).child("nodejs-matrix-workspaces");
+        assertThat(copies.child("node18/node_modules/home").readToString().trim()).isEqualTo(home18.getAbsolutePath());
+        assertThat(copies.child("node20/node_modules/home").readToString().trim()).isEqualTo(home20.getAbsolutePath());
+    }
+
+    @Test
+    void fails_when_any_run_fails(JenkinsRule r) throws Exception {
+        setupInstallations(r);
+
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p2");
+        p.setDefinition(new CpsFlowDefinition(String.join("\n", //
+                "node {", //
+                "  nodejsMatrix(installations: ['node18', 'node20'], script: 'case \"$NODEJS_HOME\" in " + home18.getAbsolutePath() + ") exit 3;; esac')", //
+                "}"), true));
+
+        WorkflowRun b = r.buildAndAssertStatus(Result.FAILURE, p);
+        r.assertLogContains(Messages.NodeJSMatrixStep_summary("node18", 3), b);
+        r.assertLogContains(Messages.NodeJSMatrixStep_failed("node18"), b);
+    }
+
+    @Test
+    void returns_the_exit_codes_when_return_status_is_set(JenkinsRule r) throws Exception {
+        setupInstallations(r);
+
+        WorkflowJob p = r.createProject(WorkflowJob.class, "p3");
+        p.setDefinition(new CpsFlowDefinition(String.join("\n", //
+                "node {", //
+                "  def codes = nodejsMatrix(installations: ['node18'], script: 'exit 2', returnStatus: true)", //
+                "  echo \"codes ${codes}\"", //
+                "}"), true));
+
+        r.assertLogContains("codes [node18:2]", r.buildAndAssertSuccess(p));
+    }
+
+}
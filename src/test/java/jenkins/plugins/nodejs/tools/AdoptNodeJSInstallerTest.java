@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+class AdoptNodeJSInstallerTest {
+
+    @TempDir
+    private File folder;
+
+    @Test
+    void version_specification() {
+        NodeJSVersion version = NodeJSVersion.parseVersion("20.11.1");
+        assertThat(AdoptNodeJSInstaller.matches(null, version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("20", version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("v20.11", version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("20.x", version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("20.11.1", version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("20.11.0", version)).isFalse();
+        assertThat(AdoptNodeJSInstaller.matches("18", version)).isFalse();
+        assertThat(AdoptNodeJSInstaller.matches("[18,21)", version)).isTrue();
+        assertThat(AdoptNodeJSInstaller.matches("[18,20)", version)).isFalse();
+        assertThat(AdoptNodeJSInstaller.matches("latest", version)).isFalse();
+        assertThat(AdoptNodeJSInstaller.matches("lts/*", version)).isFalse();
+        assertThat(AdoptNodeJSInstaller.matches("20.lts", version)).isFalse();
+    }
+
+    @Test
+    void validate_version_specification() {
+        AdoptNodeJSInstaller.validate(null);
+        AdoptNodeJSInstaller.validate("v20.x");
+        AdoptNodeJSInstaller.validate("[18,21)");
+        assertThatThrownBy(() -> AdoptNodeJSInstaller.validate("lts")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdoptNodeJSInstaller.validate("lts/*")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdoptNodeJSInstaller.validate("20.lts")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdoptNodeJSInstaller.validate("20.11.1.0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdoptNodeJSInstaller.validate("20.")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void version_from_folder_name() {
+        assertThat(AdoptNodeJSInstaller.Lookup.parseFolderVersion("v20.11.1")).isEqualTo("20.11.1");
+        assertThat(AdoptNodeJSInstaller.Lookup.parseFolderVersion("node-v22.1.0-linux-x64")).isEqualTo("22.1.0");
+        assertThat(AdoptNodeJSInstaller.Lookup.parseFolderVersion("app-2.0.1")).isNull();
+        assertThat(AdoptNodeJSInstaller.Lookup.parseFolderVersion("nodejs")).isNull();
+    }
+
+    @DisabledOnOs(OS.WINDOWS)
+    @Test
+    void lookup_ignores_versions_in_other_folder_names() throws Exception {
+        Path opt = folder.toPath().resolve("opt");
+        // not a real node, its version could not be asked
+        newHome(opt.resolve("app-2.0.1"));
+        Path nodeHome = newHome(opt.resolve("node-v20.11.1-linux-x64"));
+
+        AdoptNodeJSInstaller.Lookup lookup = new AdoptNodeJSInstaller.Lookup(Collections.singletonList(opt.toString()), "2");
+        assertThat(lookup.call()).isNull();
+        lookup = new AdoptNodeJSInstaller.Lookup(Collections.singletonList(opt.toString()), null);
+        assertThat(lookup.call()).isEqualTo(nodeHome.toString());
+    }
+
+    @DisabledOnOs(OS.WINDOWS)
+    @Test
+    void lookup_picks_the_highest_matching_version() throws Exception {
+        Path nvm = folder.toPath().resolve("nvm/versions/node");
+        newHome(nvm.resolve("v18.19.0"));
+        newHome(nvm.resolve("v20.10.0"));
+        Path fnm = folder.toPath().resolve("fnm/node-versions");
+        Path fnmHome = newHome(fnm.resolve("v20.11.1/installation"));
+        Path opt = newHome(folder.toPath().resolve("opt/node-v22.1.0-linux-x64"));
+
+        AdoptNodeJSInstaller.Lookup lookup = new AdoptNodeJSInstaller.Lookup(Arrays.asList(nvm.toString(), fnm.toString(), folder.toPath().resolve("opt").toString()), "20");
+        assertThat(lookup.call()).isEqualTo(fnmHome.toString());
+
+        lookup = new AdoptNodeJSInstaller.Lookup(Collections.singletonList(opt.toString()), null);
+        assertThat(lookup.call()).isEqualTo(opt.toString());
+
+        lookup = new AdoptNodeJSInstaller.Lookup(Collections.singletonList(nvm.toString()), "16");
+        assertThat(lookup.call()).isNull();
+    }
+
+    private Path newHome(Path home) throws Exception {
+        Files.createDirectories(home.resolve("bin"));
+        Files.createFile(home.resolve("bin/node"));
+        return home;
+    }
+
+}
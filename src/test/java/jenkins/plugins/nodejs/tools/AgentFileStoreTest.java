@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.FilePath;
+
+@DisabledOnOs(OS.WINDOWS)
+class AgentFileStoreTest {
+
+    @TempDir
+    private File folder;
+
+    @Test
+    void identical_files_are_linked_and_released() throws Exception {
+        Path v1 = folder.toPath().resolve("tools/v20.11.0");
+        Path v2 = folder.toPath().resolve("tools/v20.11.1");
+        write(v1.resolve("include/node/v8.h"), "same header");
+        write(v2.resolve("include/node/v8.h"), "same header");
+        write(v1.resolve("bin/node"), "node 20.11.0");
+        write(v2.resolve("bin/node"), "node 20.11.1");
+
+        AgentFileStore store = new AgentFileStore(new FilePath(new File(folder, "store")));
+        assertThat(store.deduplicate(new FilePath(v1.toFile()))).isZero();
+        assertThat(store.deduplicate(new FilePath(v2.toFile()))).isEqualTo("same header".length());
+
+        assertThat(Files.isSameFile(v1.resolve("include/node/v8.h"), v2.resolve("include/node/v8.h"))).isTrue();
+        assertThat(Files.isSameFile(v1.resolve("bin/node"), v2.resolve("bin/node"))).isFalse();
+        assertThat(store.purge()).isZero();
+
+        new FilePath(v1.toFile()).deleteRecursive();
+        // only the node executable of the removed version is not referenced anymore
+        assertThat(store.purge()).isEqualTo(1);
+        assertThat(v2.resolve("include/node/v8.h")).hasContent("same header");
+    }
+
+    @Test
+    void records_are_never_linked() throws Exception {
+        Path v1 = folder.toPath().resolve("tools/a");
+        Path v2 = folder.toPath().resolve("tools/b");
+        write(v1.resolve(".npmPackages"), "typescript");
+        write(v2.resolve(".npmPackages"), "typescript");
+        write(v1.resolve(".corepack/pnpm/9.1.0/package.json"), "{}");
+        write(v2.resolve(".corepack/pnpm/9.1.0/package.json"), "{}");
+
+        AgentFileStore store = new AgentFileStore(new FilePath(new File(folder, "store")));
+        store.deduplicate(new FilePath(v1.toFile()));
+        assertThat(store.deduplicate(new FilePath(v2.toFile()))).isZero();
+
+        assertThat(Files.isSameFile(v1.resolve(".npmPackages"), v2.resolve(".npmPackages"))).isFalse();
+        assertThat(Files.isSameFile(v1.resolve(".corepack/pnpm/9.1.0/package.json"), v2.resolve(".corepack/pnpm/9.1.0/package.json"))).isFalse();
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.output.NullPrintStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.FilePath;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+class InstallationLockTest {
+
+    @TempDir
+    private File folder;
+
+    @SuppressWarnings("deprecation")
+    private final TaskListener taskListener = new StreamTaskListener(new NullPrintStream());
+
+    @Test
+    void concurrent_installations_of_the_same_home_run_once() throws Exception {
+        Node node = mock(Node.class);
+        when(node.getNodeName()).thenReturn("agent");
+        FilePath home = new FilePath(folder).child("tools/nodejs");
+
+        AtomicInteger installations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InstallationLock.Installation installation = () -> {
+            installations.incrementAndGet();
+            started.countDown();
+            release.await();
+            home.child("bin/node").touch(0);
+            home.child(".installedFrom").write("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz", "UTF-8");
+            return home;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<FilePath> first = executor.submit(() -> InstallationLock.install(node, home, taskListener, installation));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            CountDownLatch waiting = new CountDownLatch(1);
+            TaskListener waitingListener = new StreamTaskListener(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    waiting.countDown();
+                }
+            }, StandardCharsets.UTF_8);
+            Future<FilePath> second = executor.submit(() -> InstallationLock.install(node, home, waitingListener, installation));
+            assertThat(waiting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(home);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(home);
+            assertThat(installations).hasValue(1);
+            assertThat(home.sibling("nodejs.lock").exists()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void agents_sharing_the_tool_folder_are_coordinated_in_memory() throws Exception {
+        Node agent1 = mock(Node.class);
+        when(agent1.getNodeName()).thenReturn("agent1");
+        Node agent2 = mock(Node.class);
+        when(agent2.getNodeName()).thenReturn("agent2");
+        FilePath home = new FilePath(folder).child("tools/nodejs");
+
+        AtomicInteger installations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InstallationLock.Installation installation = () -> {
+            installations.incrementAndGet();
+            started.countDown();
+            release.await();
+            home.child("bin/node").touch(0);
+            home.child(".installedFrom").write("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz", "UTF-8");
+            return home;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<FilePath> first = executor.submit(() -> InstallationLock.install(agent1, home, taskListener, installation));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            CountDownLatch waiting = new CountDownLatch(1);
+            TaskListener waitingListener = new StreamTaskListener(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    waiting.countDown();
+                }
+            }, StandardCharsets.UTF_8);
+            Future<FilePath> second = executor.submit(() -> InstallationLock.install(agent2, home, waitingListener, installation));
+            assertThat(waiting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(home);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(home);
+            assertThat(installations).hasValue(1);
+            assertThat(home.sibling(InstallationLock.FILESYSTEM_ID_FILENAME).readToString()).isNotBlank();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void installation_completed_by_another_process_is_reused() throws Exception {
+        Node node = mock(Node.class);
+        when(node.getNodeName()).thenReturn("agent");
+        FilePath home = new FilePath(folder).child("tools/nodejs");
+        FilePath lock = home.sibling("nodejs.lock");
+        lock.write("another-process", "UTF-8");
+
+        AtomicInteger installations = new AtomicInteger();
+        InstallationLock.Installation installation = () -> {
+            installations.incrementAndGet();
+            return home;
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch waiting = new CountDownLatch(1);
+            TaskListener waitingListener = new StreamTaskListener(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    waiting.countDown();
+                }
+            }, StandardCharsets.UTF_8);
+            Future<FilePath> result = executor.submit(() -> InstallationLock.install(node, home, waitingListener, installation));
+            assertThat(waiting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the other process completes the installation and releases the lock
+            home.child("bin/node").touch(0);
+            home.child(".installedFrom").write("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz", "UTF-8");
+            lock.delete();
+
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(home);
+            assertThat(installations).hasValue(0);
+            assertThat(lock.exists()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void broken_installation_is_not_reused() throws Exception {
+        FilePath home = new FilePath(folder).child("tools/nodejs");
+        home.child(".installedFrom").write("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz", "UTF-8");
+
+        assertThat(home.act(new InstallationLock.CheckIntegrity())).isFalse();
+        assertThat(home.child(".installedFrom").exists()).isFalse();
+
+        home.child("bin/node").touch(0);
+        home.child(".installedFrom").write("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz", "UTF-8");
+        assertThat(home.act(new InstallationLock.CheckIntegrity())).isTrue();
+    }
+
+}
@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.TreeSet;
 
 import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -42,6 +43,7 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 
 import hudson.tools.DownloadFromUrlInstaller;
+import jenkins.plugins.nodejs.tools.pathresolvers.LatestInstallerPathResolver;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
@@ -114,6 +116,25 @@ class InstallerPathResolversTest {
         }
     }
 
+    @Test
+    void shouldResolveIntervalsEndpoints() {
+        LatestInstallerPathResolver resolver = new LatestInstallerPathResolver();
+        assertThat(resolver.isMSI("4.4.7")).isTrue();
+        assertThat(resolver.isMSI("4.5.0")).isFalse();
+        assertThat(resolver.isMSI("6.2.0")).isTrue();
+        assertThat(resolver.isMSI("6.2.1")).isFalse();
+        assertThat(resolver.resolvePathFor("0.10.48", Platform.WINDOWS, CPU.amd64)).isEqualTo("x64/node-v0.10.48-x64.msi");
+        assertThat(resolver.resolvePathFor("20.11.0", Platform.WINDOWS, CPU.arm64)).isEqualTo("node-v20.11.0-win-arm64.zip");
+
+        assertThat(resolver.supports("8.5.0", Platform.LINUX, CPU.armv6l)).isTrue();
+        assertThat(resolver.supports("8.6.0", Platform.LINUX, CPU.armv6l)).isFalse();
+        assertThat(resolver.supports("0.12.18", Platform.SUNOS, CPU.amd64)).isFalse();
+        assertThat(resolver.supports("7.5.0", Platform.SUNOS, CPU.amd64)).isTrue();
+        assertThat(resolver.supports("15.14.0", Platform.OSX, CPU.arm64)).isFalse();
+        assertThat(resolver.supports("16.0.0", Platform.OSX, CPU.arm64)).isTrue();
+        assertThat(resolver.supports("20.11.0", Platform.LINUX, CPU.ppc64)).isFalse();
+    }
+
     private void assertDownload(URL url) throws IOException {
         HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
         try {
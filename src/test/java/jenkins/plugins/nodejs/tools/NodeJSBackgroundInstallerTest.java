@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.slaves.DumbSlave;
+import hudson.tools.InstallSourceProperty;
+import hudson.tools.ToolInstallation;
+import hudson.tools.ToolInstaller;
+
+@WithJenkins
+class NodeJSBackgroundInstallerTest {
+
+    @Test
+    void async_installations_are_awaited_only_by_the_build_that_started_them(JenkinsRule r) throws Exception {
+        NodeJSInstallation installation = setupInstallation(r);
+        DumbSlave agent = r.createOnlineSlave();
+        FreeStyleProject project = r.createFreeStyleProject();
+        FreeStyleBuild build1 = r.buildAndAssertSuccess(project);
+        FreeStyleBuild build2 = r.buildAndAssertSuccess(project);
+
+        NodeJSBackgroundInstaller installer = NodeJSBackgroundInstaller.get();
+        installer.installAsync(build1, agent, installation).get();
+        assertThat(CountingInstaller.installations).hasValue(1);
+
+        installer.await(build2, agent, installation, TaskListener.NULL);
+        assertThat(CountingInstaller.installations).hasValue(2);
+
+        installer.await(build1, agent, installation, TaskListener.NULL);
+        assertThat(CountingInstaller.installations).hasValue(2);
+    }
+
+    @Test
+    void removed_installation_is_installed_again(JenkinsRule r) throws Exception {
+        NodeJSInstallation installation = setupInstallation(r);
+        DumbSlave agent = r.createOnlineSlave();
+        FreeStyleBuild build = r.buildAndAssertSuccess(r.createFreeStyleProject());
+
+        NodeJSBackgroundInstaller installer = NodeJSBackgroundInstaller.get();
+        NodeJSInstallation installed = installer.installAsync(build, agent, installation).get();
+        FilePath home = agent.getRootPath().child(installed.getHome());
+        home.deleteRecursive();
+
+        NodeJSInstallation awaited = installer.await(build, agent, installation, TaskListener.NULL);
+        assertThat(CountingInstaller.installations).hasValue(2);
+        assertThat(agent.getRootPath().child(awaited.getHome()).isDirectory()).isTrue();
+    }
+
+    @Test
+    void async_installations_are_discarded_when_the_build_completes(JenkinsRule r) throws Exception {
+        NodeJSInstallation installation = setupInstallation(r);
+        DumbSlave agent = r.createOnlineSlave();
+        FreeStyleBuild build = r.buildAndAssertSuccess(r.createFreeStyleProject());
+
+        NodeJSBackgroundInstaller installer = NodeJSBackgroundInstaller.get();
+        installer.installAsync(build, agent, installation).get();
+        RunListener.fireCompleted(build, TaskListener.NULL);
+
+        installer.await(build, agent, installation, TaskListener.NULL);
+        assertThat(CountingInstaller.installations).hasValue(2);
+    }
+
+    private NodeJSInstallation setupInstallation(JenkinsRule r) {
+        CountingInstaller.installations.set(0);
+        NodeJSInstallation installation = new NodeJSInstallation("node20", null, Collections.singletonList(new InstallSourceProperty(Collections.singletonList(new CountingInstaller()))));
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations(installation);
+        return installation;
+    }
+
+    public static class CountingInstaller extends ToolInstaller {
+        private static final AtomicInteger installations = new AtomicInteger();
+
+        CountingInstaller() {
+            super(null);
+        }
+
+        @Override
+        public FilePath performInstallation(ToolInstallation tool, Node node, TaskListener log) throws IOException, InterruptedException {
+            installations.incrementAndGet();
+            FilePath home = node.getRootPath().child("tools/node20");
+            home.mkdirs();
+            return home;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.commons.io.output.NullPrintStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.FilePath.TarCompression;
+import hudson.model.TaskListener;
+import hudson.tools.InstallSourceProperty;
+import hudson.util.StreamTaskListener;
+import jenkins.plugins.nodejs.Messages;
+
+@WithJenkins
+class NodeJSBundleExporterTest {
+
+    @TempDir
+    private File folder;
+
+    @SuppressWarnings("deprecation")
+    private final TaskListener taskListener = new StreamTaskListener(new NullPrintStream());
+
+    @Test
+    void bundle_contains_the_tool_folder_as_installed_by_the_installer() throws Exception {
+        FilePath install = new FilePath(folder).child("install");
+        install.child("bin/node").write("node", "UTF-8");
+        NodeJSInstaller.buildCache(install, NodeJSInstaller.getCacheFile(Platform.LINUX, CPU.arm64, "20.11.0"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NodeJSBundleExporter(newInstallation("Node 20", "20.11.0"), Platform.LINUX, CPU.arm64).export(out, true, taskListener);
+
+        FilePath agentRoot = new FilePath(folder).child("agent");
+        agentRoot.untarFrom(new ByteArrayInputStream(out.toByteArray()), TarCompression.GZIP);
+        FilePath home = agentRoot.child("tools/jenkins.plugins.nodejs.tools.NodeJSInstallation/Node_20");
+        assertThat(home.child("bin/node").readToString()).isEqualTo("node");
+        assertThat(home.child(".installedFrom").readToString()).isEqualTo("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-arm64.tar.gz");
+        assertThat(home.child(NodeJSInstaller.NPM_PACKAGES_RECORD_FILENAME).exists()).isFalse();
+    }
+
+    @Test
+    void version_not_in_cache_is_not_exported() throws Exception {
+        NodeJSBundleExporter exporter = new NodeJSBundleExporter(newInstallation("Node 18", "18.19.0"), Platform.LINUX, CPU.amd64);
+
+        assertThatThrownBy(() -> exporter.export(new ByteArrayOutputStream(), true, taskListener)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void package_managers_require_the_platform_of_the_controller() throws Exception {
+        FilePath install = new FilePath(folder).child("install");
+        install.child("bin/node").write("node", "UTF-8");
+        NodeJSInstaller.buildCache(install, NodeJSInstaller.getCacheFile(Platform.AIX, CPU.ppc64, "20.11.0"));
+        NodeJSInstallation installation = newInstallation("Node 20", "20.11.0");
+        installation.getNodeJSInstaller().setCorepackPackageManagers("pnpm@9.1.0");
+        NodeJSBundleExporter exporter = new NodeJSBundleExporter(installation, Platform.AIX, CPU.ppc64);
+
+        assertThatThrownBy(() -> exporter.export(new ByteArrayOutputStream(), false, taskListener)) //
+                .isInstanceOf(IOException.class) //
+                .hasMessage(Messages.NodeJSBundleExporter_packagesPlatformMismatch(Platform.AIX, CPU.ppc64));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(out, true, taskListener);
+        FilePath agentRoot = new FilePath(folder).child("agent");
+        agentRoot.untarFrom(new ByteArrayInputStream(out.toByteArray()), TarCompression.GZIP);
+        assertThat(agentRoot.child("tools/jenkins.plugins.nodejs.tools.NodeJSInstallation/Node_20/.corepack").exists()).isFalse();
+    }
+
+    private NodeJSInstallation newInstallation(String name, String version) throws IOException {
+        NodeJSInstaller installer = new NodeJSInstaller(version, null, 72) {
+            @Override
+            public Installable getInstallable() {
+                Installable installable = new Installable();
+                installable.id = version;
+                installable.name = version;
+                installable.url = "https://nodejs.org/dist/v" + version + "/";
+                return new NodeJSInstallable(installable);
+            }
+        };
+        return new NodeJSInstallation(name, null, Collections.singletonList(new InstallSourceProperty(Collections.singletonList(installer))));
+    }
+
+}
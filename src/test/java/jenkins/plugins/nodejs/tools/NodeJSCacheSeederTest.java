@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullPrintStream;
+import org.apache.tools.tar.TarEntry;
+import org.apache.tools.tar.TarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.FilePath.TarCompression;
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+@WithJenkins
+class NodeJSCacheSeederTest {
+
+    @TempDir
+    private File folder;
+
+    @SuppressWarnings("deprecation")
+    private final TaskListener taskListener = new StreamTaskListener(new NullPrintStream());
+
+    @Test
+    void archive_verified_by_checksum_is_seeded() throws Exception {
+        File archive = new File(folder, "node-v20.11.0-linux-x64.tar.gz");
+        fillArchive(archive, "node-v20.11.0-linux-x64/bin/node", "node".getBytes());
+        writeChecksums(archive);
+
+        NodeJSCacheSeeder.Result result = new NodeJSCacheSeeder(folder, 1).seed(taskListener);
+
+        assertThat(result.getSeeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isZero();
+        File cache = NodeJSInstaller.getCacheFile(Platform.LINUX, CPU.amd64, "20.11.0");
+        assertThat(cache).exists();
+
+        FilePath restored = new FilePath(new File(folder, "restored"));
+        restored.untarFrom(new FileInputStream(cache), TarCompression.GZIP);
+        assertThat(restored.child("bin/node").exists()).isTrue();
+        assertThat(restored.child(".installedFrom").readToString()).isEqualTo("https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz");
+    }
+
+    @Test
+    void archive_with_wrong_checksum_is_rejected() throws Exception {
+        File archive = new File(folder, "node-v20.11.1-linux-x64.tar.gz");
+        fillArchive(archive, "node-v20.11.1-linux-x64/bin/node", "node".getBytes());
+        Files.write(new File(folder, "SHASUMS256.txt").toPath(), ("0000000000000000000000000000000000000000000000000000000000000000  " + archive.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+
+        NodeJSCacheSeeder.Result result = new NodeJSCacheSeeder(folder, 1).seed(taskListener);
+
+        assertThat(result.getSeeded()).isZero();
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(NodeJSInstaller.getCacheFile(Platform.LINUX, CPU.amd64, "20.11.1")).doesNotExist();
+    }
+
+    private void writeChecksums(File archive) throws IOException {
+        String line = ToolsUtils.sha256(archive.toPath()) + "  " + archive.getName() + "\n";
+        Files.write(new File(folder, "SHASUMS256.txt").toPath(), line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void fillArchive(File file, String fileEntry, byte[] content) throws IOException {
+        try (TarOutputStream zf = new TarOutputStream(new GZIPOutputStream(new FileOutputStream(file)))) {
+            TarEntry ze = new TarEntry(fileEntry);
+            ze.setSize(content.length);
+            zf.putNextEntry(ze);
+            IOUtils.write(content, zf);
+            zf.closeEntry();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.slaves.DumbSlave;
+import jenkins.plugins.nodejs.NodeJSBuildWrapper;
+import jenkins.plugins.nodejs.NodeJSCommandInterpreter;
+
+@WithJenkins
+class NodeJSDemandAnalyzerTest {
+
+    @Test
+    void demand_is_built_from_job_configurations_and_usages(JenkinsRule r) throws Exception {
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations( //
+                new NodeJSInstallation("node18", "/opt/node18", Collections.emptyList()), //
+                new NodeJSInstallation("node20", "/opt/node20", Collections.emptyList()), //
+                new NodeJSInstallation("node22", "/opt/node22", Collections.emptyList()));
+
+        FreeStyleProject wrapped = r.createFreeStyleProject("wrapped");
+        wrapped.setAssignedLabel(Label.get("linux"));
+        wrapped.getBuildWrappersList().add(new NodeJSBuildWrapper("node18"));
+        FreeStyleProject builder = r.createFreeStyleProject("builder");
+        builder.getBuildersList().add(new NodeJSCommandInterpreter("console.log('hello')", "node20"));
+        // pipeline definitions are not analyzed, only what their builds use
+        WorkflowJob pipeline = r.createProject(WorkflowJob.class, "pipeline");
+        pipeline.setDefinition(new CpsFlowDefinition("node('docker') { nodejs('node18') { sh 'npm ci' } }", true));
+
+        DumbSlave agent = r.createSlave("agent", "mac arm64", null);
+        NodeJSDemandAnalyzer.recordUsage("node20", agent);
+        DumbSlave docker = r.createSlave("docker-agent", "docker", null);
+        NodeJSDemandAnalyzer.recordUsage("node22", docker);
+        // without labels the demand is bound to the agent, not to any agent
+        DumbSlave unlabeled = r.createSlave("unlabeled", null, null);
+        NodeJSDemandAnalyzer.recordUsage("node22", unlabeled);
+
+        Map<String, Set<String>> demand = NodeJSDemandAnalyzer.analyze();
+        assertThat(demand.get("node18")).containsExactly("linux");
+        assertThat(demand.get("node20")).containsExactlyInAnyOrder(NodeJSDemandAnalyzer.ANY_LABEL, "arm64&&mac");
+        assertThat(demand.get("node22")).containsExactlyInAnyOrder("docker", "unlabeled");
+    }
+
+}
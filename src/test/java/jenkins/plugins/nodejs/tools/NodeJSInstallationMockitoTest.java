@@ -65,4 +65,17 @@ class NodeJSInstallationMockitoTest {
                 .as("PATH variable should not appear in this environment").doesNotContainKey("PATH");
     }
 
+    @Test
+    void test_installer_environment_with_globals_and_corepack() {
+        NodeJSInstallation installer = new NodeJSInstallation("test", "/home/nodejs", null, Platform.LINUX, "/home/.npm-globals/20-linux-amd64-abc", "/home/nodejs/.corepack");
+
+        EnvVars env = new EnvVars();
+        installer.buildEnvVars(env);
+
+        assertThat(env)
+                .containsEntry(ENVVAR_NODEJS_GLOBALS_PATH, "/home/.npm-globals/20-linux-amd64-abc/bin")
+                .doesNotContainKey("npm_config_prefix")
+                .containsEntry(ENVVAR_COREPACK_HOME, "/home/nodejs/.corepack");
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.Functions;
+
+class NodeJSInstallationsCleanerTest {
+
+    @TempDir
+    private File toolsDir;
+
+    @Test
+    void unreferenced_and_unused_installations_are_removed() throws Exception {
+        File current = newHome("Node_20");
+        File renamed = newHome("Node_18");
+        File stale = newHome("Node_16");
+        assertThat(new File(stale, NodeJSInstallationsCleaner.LAST_USED_FILENAME).setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(40))).isTrue();
+        File sharedUnused = newHome(NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER + "/18.0.0-linux-amd64");
+        File sharedUsed = newHome(NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER + "/20.11.0-linux-amd64");
+
+        NodeJSInstallationsCleaner.Sweep sweep = new NodeJSInstallationsCleaner.Sweep(new HashSet<>(Arrays.asList("Node_20", "Node_16")), //
+                Collections.singleton("20.11.0"), Collections.emptySet(), TimeUnit.DAYS.toMillis(30), 0);
+        int removed = sweep.invoke(toolsDir, null);
+
+        assertThat(removed).isEqualTo(3);
+        assertThat(current).exists();
+        assertThat(sharedUsed).exists();
+        assertThat(renamed).doesNotExist();
+        assertThat(stale).doesNotExist();
+        assertThat(sharedUnused).doesNotExist();
+    }
+
+    @Test
+    void installation_in_progress_is_not_removed() throws Exception {
+        File home = newHome("Node_18");
+        assertThat(new File(toolsDir, "Node_18.lock").createNewFile()).isTrue();
+
+        NodeJSInstallationsCleaner.Sweep sweep = new NodeJSInstallationsCleaner.Sweep(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(), TimeUnit.DAYS.toMillis(30), 0);
+
+        assertThat(sweep.invoke(toolsDir, null)).isZero();
+        assertThat(home).exists();
+    }
+
+    @Test
+    void shared_installation_linked_by_an_overlay_is_not_removed() throws Exception {
+        assumeFalse(Functions.isWindows());
+        File overlay = newHome("Node_18");
+        File shared = newHome(NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER + "/18.0.0-linux-amd64");
+        assertThat(new File(shared, "include").mkdirs()).isTrue();
+        Files.createSymbolicLink(new File(overlay, "include").toPath(), Paths.get("../" + NodeJSInstaller.SHARED_INSTALLATIONS_FOLDER + "/18.0.0-linux-amd64/include"));
+
+        // the tool no longer shares its installation, but its home is still the overlay
+        NodeJSInstallationsCleaner.Sweep sweep = new NodeJSInstallationsCleaner.Sweep(Collections.singleton("Node_18"), Collections.emptySet(), Collections.emptySet(), TimeUnit.DAYS.toMillis(30), 0);
+
+        assertThat(sweep.invoke(toolsDir, null)).isZero();
+        assertThat(shared).exists();
+    }
+
+    @Test
+    void global_prefixes_of_changed_package_lists_are_removed() throws Exception {
+        String digest = NodeJSInstaller.getPackagesDigest("typescript eslint");
+        File current = newHome(NodeJSInstaller.GLOBAL_PREFIXES_FOLDER + "/20-linux-amd64-" + digest);
+        File otherPlatform = newHome(NodeJSInstaller.GLOBAL_PREFIXES_FOLDER + "/20-osx-arm64-" + digest);
+        File previous = newHome(NodeJSInstaller.GLOBAL_PREFIXES_FOLDER + "/20-linux-amd64-" + NodeJSInstaller.getPackagesDigest("typescript"));
+
+        NodeJSInstallationsCleaner.Sweep sweep = new NodeJSInstallationsCleaner.Sweep(Collections.emptySet(), Collections.emptySet(), //
+                Collections.singleton("20-" + digest), TimeUnit.DAYS.toMillis(30), 0);
+
+        assertThat(sweep.invoke(toolsDir, null)).isEqualTo(1);
+        assertThat(current).exists();
+        assertThat(otherPlatform).exists();
+        assertThat(previous).doesNotExist();
+    }
+
+    private File newHome(String name) throws Exception {
+        File home = new File(toolsDir, name);
+        assertThat(new File(home, "bin").mkdirs()).isTrue();
+        assertThat(new File(home, NodeJSInstallationsCleaner.LAST_USED_FILENAME).createNewFile()).isTrue();
+        return home;
+    }
+
+}
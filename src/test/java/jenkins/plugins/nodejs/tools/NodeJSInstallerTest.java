@@ -198,6 +198,98 @@ class NodeJSInstallerTest {
         }
     }
 
+    @Test
+    void test_agent_cache_is_used_when_tool_home_is_wiped_out() throws Exception {
+        String expectedPackages = " ";
+        int expectedRefreshHours = NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS;
+        Node currentNode = mock(Node.class);
+        when(currentNode.getRootPath()).thenReturn(new FilePath(newFolder(fileRule, "junit")));
+
+        // create partial mock
+        NodeJSInstaller installer = new NodeJSInstaller("test-id", expectedPackages, expectedRefreshHours);
+        NodeJSInstaller spy = spy(installer);
+
+        // use Mockito to set up your expectation
+        File cache = File.createTempFile("junit", null, fileRule);
+        fillArchive(cache, "nodejs.txt", "test".getBytes());
+        doReturn(cache).when(spy).getLocalCacheFile(any(), any());
+        Installable installable = new Installable();
+        installable.url = File.createTempFile("junit", null, fileRule).toURI().toString();
+        doReturn(installable).when(spy).getInstallable();
+        when(spy.getNpmPackages()).thenReturn(expectedPackages);
+
+        try (MockedStatic<ToolsUtils> staticToolsUtils = mockStatic(ToolsUtils.class)) {
+            staticToolsUtils.when(() -> ToolsUtils.getCPU(currentNode)).thenReturn(CPU.amd64);
+            staticToolsUtils.when(() -> ToolsUtils.getPlatform(currentNode)).thenReturn(Platform.LINUX);
+
+            ToolInstallation toolInstallation = mock(ToolInstallation.class);
+            when(toolInstallation.getHome()).thenReturn("nodejs");
+
+            // first installation populate the agent cache
+            FilePath expected = spy.performInstallation(toolInstallation, currentNode, taskListener);
+            assertThat(currentNode.getRootPath().child("caches/nodejs-agent/LINUX/amd64/test-id.tar.gz").exists()).isTrue();
+
+            // simulate a workspace cleanup and a controller cache not reachable
+            expected.deleteRecursive();
+            assertThat(cache.delete()).isTrue();
+
+            expected = spy.performInstallation(toolInstallation, currentNode, taskListener);
+            assertThat(expected.list("nodejs.txt")).isNotEmpty();
+        }
+    }
+
+    @Test
+    void test_global_packages_bundle_is_used() throws Exception {
+        String expectedPackages = "grunt-cli";
+        Node currentNode = mock(Node.class);
+        FilePath expected = new FilePath(newFolder(fileRule, "nodejs"));
+
+        // create partial mock
+        NodeJSInstaller installer = new NodeJSInstaller("test-id", expectedPackages, NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+        NodeJSInstaller spy = spy(installer);
+
+        // the bundle built by another agent
+        File bundle = File.createTempFile("junit", null, fileRule);
+        fillArchive(bundle, "lib/node_modules/grunt-cli/package.json", "{}".getBytes());
+        doReturn(bundle).when(spy).getLocalPackagesBundleFile(any(), any());
+
+        try (MockedStatic<ToolsUtils> staticToolsUtils = mockStatic(ToolsUtils.class)) {
+            staticToolsUtils.when(() -> ToolsUtils.getCPU(currentNode)).thenReturn(CPU.amd64);
+            staticToolsUtils.when(() -> ToolsUtils.getPlatform(currentNode)).thenReturn(Platform.LINUX);
+
+            // npm is never launched, the node has no launcher
+            spy.refreshGlobalPackages(currentNode, taskListener, expected);
+        }
+
+        assertThat(expected.child("lib/node_modules/grunt-cli/package.json").exists()).isTrue();
+        assertThat(NodeJSInstaller.areNpmPackagesUpToDate(expected, expectedPackages, NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS)).isTrue();
+    }
+
+    @Test
+    void packages_bundle_key_does_not_depend_on_the_packages_order() {
+        String digest = NodeJSInstaller.getPackagesDigest("typescript  grunt-cli\nnpm@10");
+        assertThat(digest).isEqualTo(NodeJSInstaller.getPackagesDigest("npm@10 grunt-cli typescript"));
+        assertThat(digest).isNotEqualTo(NodeJSInstaller.getPackagesDigest("grunt-cli typescript"));
+    }
+
+    @Test
+    void global_prefix_is_shared_between_patch_versions() throws Exception {
+        FilePath tools = new FilePath(fileRule);
+        NodeJSInstaller patch1 = new NodeJSInstaller("20.11.0", "grunt-cli", NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+        NodeJSInstaller patch2 = new NodeJSInstaller("20.11.1", "grunt-cli", NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+        NodeJSInstaller major = new NodeJSInstaller("22.1.0", "grunt-cli", NodeJSInstaller.DEFAULT_NPM_PACKAGES_REFRESH_HOURS);
+        assertThat(patch1.getGlobalPrefix(tools.child("node20.11.0"), Platform.LINUX, CPU.amd64)).isNull();
+
+        patch1.setSharedGlobalPrefix(true);
+        patch2.setSharedGlobalPrefix(true);
+        major.setSharedGlobalPrefix(true);
+        FilePath prefix = patch1.getGlobalPrefix(tools.child("node20.11.0"), Platform.LINUX, CPU.amd64);
+        assertThat(prefix).isEqualTo(patch2.getGlobalPrefix(tools.child("node20.11.1"), Platform.LINUX, CPU.amd64));
+        assertThat(prefix.getParent()).isEqualTo(tools.child(NodeJSInstaller.GLOBAL_PREFIXES_FOLDER));
+        assertThat(prefix).isNotEqualTo(major.getGlobalPrefix(tools.child("node22.1.0"), Platform.LINUX, CPU.amd64));
+        assertThat(prefix).isNotEqualTo(patch1.getGlobalPrefix(tools.child("node20.11.0"), Platform.LINUX, CPU.arm64));
+    }
+
     private void fillArchive(File file, String fileEntry, byte[] content) throws IOException {
         try (TarOutputStream zf = new TarOutputStream(new GZIPOutputStream(new FileOutputStream(file)))) {
             TarEntry ze = new TarEntry(fileEntry);
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockFolder;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Items;
+import hudson.model.Queue;
+import hudson.model.Result;
+import hudson.slaves.DumbSlave;
+import jenkins.plugins.nodejs.NodeJSBuildWrapper;
+import jenkins.plugins.nodejs.cache.PerExecutorCacheLocationLocator;
+import jenkins.plugins.nodejs.cache.PerJobCacheLocationLocator;
+
+@WithJenkins
+class NodeJSLoadBalancerTest {
+
+    @Test
+    void warm_agents_score_higher(JenkinsRule r) throws Exception {
+        FreeStyleProject project = r.createFreeStyleProject("score");
+        DumbSlave cold = r.createSlave("cold", null, null);
+        DumbSlave installed = r.createSlave("installed", null, null);
+        DumbSlave cached = r.createSlave("cached", null, null);
+
+        NodeJSLoadBalancer.recordInstalled(installed, "node20");
+        NodeJSLoadBalancer.recordInstalled(cached, "node20");
+        NodeJSLoadBalancer.recordBuild(project, cached, "node20", new PerJobCacheLocationLocator());
+
+        assertThat(NodeJSLoadBalancer.score(project, cold, Collections.singleton("node20"))).isZero();
+        assertThat(NodeJSLoadBalancer.score(project, installed, Collections.singleton("node20"))).isEqualTo(6);
+        assertThat(NodeJSLoadBalancer.score(project, cached, Collections.singleton("node20"))).isEqualTo(7);
+    }
+
+    @Test
+    void build_runs_on_the_warm_agent(JenkinsRule r) throws Exception {
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations( //
+                new NodeJSInstallation("node22", "/opt/node22", Collections.emptyList()));
+        DumbSlave cold = r.createOnlineSlave();
+        DumbSlave warm = r.createOnlineSlave();
+        NodeJSLoadBalancer.recordInstalled(warm, "node22");
+        // opt-in
+        Queue queue = r.jenkins.getQueue();
+        queue.setLoadBalancer(new NodeJSLoadBalancer(queue.getLoadBalancer()));
+
+        FreeStyleProject project = r.createFreeStyleProject("balanced");
+        project.getBuildWrappersList().add(new NodeJSBuildWrapper("node22"));
+
+        for (int i = 0; i < 3; i++) {
+            // the fake installation has no executable
+            FreeStyleBuild build = r.buildAndAssertStatus(Result.FAILURE, project);
+            assertThat(build.getBuiltOn()).isNotSameAs(cold).isSameAs(warm);
+        }
+    }
+
+    @Test
+    void load_balancer_is_opt_in(JenkinsRule r) throws Exception {
+        assertThat(r.jenkins.getQueue().getLoadBalancer()).isNotInstanceOf(NodeJSLoadBalancer.class);
+    }
+
+    @Test
+    void executor_caches_are_warm_for_the_same_installation(JenkinsRule r) throws Exception {
+        FreeStyleProject project = r.createFreeStyleProject("executor");
+        FreeStyleProject other = r.createFreeStyleProject("other");
+        DumbSlave agent = r.createSlave("executors", null, null);
+
+        NodeJSLoadBalancer.recordBuild(other, agent, "node20", new PerExecutorCacheLocationLocator());
+
+        assertThat(NodeJSLoadBalancer.score(project, agent, Collections.singleton("node20"))).isEqualTo(1);
+        assertThat(NodeJSLoadBalancer.score(project, agent, Collections.singleton("node22"))).isZero();
+    }
+
+    @Test
+    void removed_nodes_and_jobs_are_forgotten(JenkinsRule r) throws Exception {
+        MockFolder folder = r.createFolder("folder");
+        MockFolder destination = r.createFolder("destination");
+        FreeStyleProject project = folder.createProject(FreeStyleProject.class, "job");
+        DumbSlave agent = r.createSlave("removed", null, null);
+        NodeJSLoadBalancer.recordInstalled(agent, "node20");
+        NodeJSLoadBalancer.recordBuild(project, agent, "node20", new PerJobCacheLocationLocator());
+        assertThat(NodeJSLoadBalancer.getInstallations(project)).containsExactly("node20");
+
+        project = Items.move(project, destination);
+        assertThat(NodeJSLoadBalancer.getInstallations(project)).containsExactly("node20");
+        assertThat(NodeJSLoadBalancer.score(project, agent, Collections.singleton("node20"))).isEqualTo(7);
+
+        r.jenkins.removeNode(agent);
+        assertThat(NodeJSLoadBalancer.score(project, agent, Collections.singleton("node20"))).isZero();
+
+        project.delete();
+        assertThat(NodeJSLoadBalancer.getInstallations(project)).isEmpty();
+    }
+
+}
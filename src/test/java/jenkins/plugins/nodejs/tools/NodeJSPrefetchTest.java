@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.slaves.DumbSlave;
+import net.sf.json.JSONObject;
+
+@WithJenkins
+class NodeJSPrefetchTest {
+
+    @Test
+    void installation_is_prefetched_on_matching_agents(JenkinsRule r) throws Exception {
+        DumbSlave linux1 = r.createSlave("linux1", "linux", null);
+        DumbSlave linux2 = r.createSlave("linux2", "linux", null);
+        DumbSlave windows = r.createSlave("windows", "windows", null);
+        r.waitOnline(linux1);
+        r.waitOnline(linux2);
+        r.waitOnline(windows);
+        NodeJSInstallation installation = new NodeJSInstallation("node20", "/opt/node20", Collections.emptyList());
+
+        NodeJSPrefetch prefetch = new NodeJSPrefetch(installation, "linux", 1, 1);
+        prefetch.run();
+
+        assertThat(prefetch.isDone()).isTrue();
+        assertThat(prefetch.getResults()).extracting(NodeJSPrefetch.AgentResult::getAgent).containsExactlyInAnyOrder("linux1", "linux2");
+        assertThat(prefetch.getResults()).extracting(NodeJSPrefetch.AgentResult::getState).containsOnly(NodeJSBackgroundInstaller.State.INSTALLED);
+        JSONObject json = prefetch.toJSON();
+        assertThat(json.getInt("progress")).isEqualTo(100);
+        assertThat(json.getInt("failed")).isZero();
+        assertThat(json.getJSONArray("agents")).hasSize(2);
+    }
+
+}
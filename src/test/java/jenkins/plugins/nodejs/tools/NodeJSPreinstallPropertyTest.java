@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.FilePath;
+import hudson.model.FreeStyleProject;
+import hudson.model.Node;
+import hudson.model.Queue;
+import hudson.model.TaskListener;
+import hudson.slaves.DumbSlave;
+import hudson.tools.InstallSourceProperty;
+import hudson.tools.ToolInstallation;
+import hudson.tools.ToolInstaller;
+import jenkins.plugins.nodejs.NodeJSBuildWrapper;
+
+@WithJenkins
+class NodeJSPreinstallPropertyTest {
+
+    @Test
+    void installations_are_installed_when_matching_agents_come_online(JenkinsRule r) throws Exception {
+        NodeJSInstallation matching = new NodeJSInstallation("node20", "/opt/node20", Collections.singletonList(new NodeJSPreinstallProperty("linux && docker")));
+        NodeJSInstallation notMatching = new NodeJSInstallation("node18", "/opt/node18", Collections.singletonList(new NodeJSPreinstallProperty("windows")));
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations(matching, notMatching);
+
+        DumbSlave agent = r.createSlave("agent", "linux docker", null);
+        r.waitOnline(agent);
+
+        List<NodeJSBackgroundInstaller.Status> statuses = NodeJSBackgroundInstaller.get().getStatus(agent.toComputer());
+        assertThat(statuses).extracting(NodeJSBackgroundInstaller.Status::getInstallation).containsExactly("node20");
+        NodeJSBackgroundInstaller.get().install(agent.toComputer(), matching, true).get();
+        assertThat(statuses.get(0).getState()).isEqualTo(NodeJSBackgroundInstaller.State.INSTALLED);
+    }
+
+    @Test
+    void only_builds_that_use_the_installation_wait(JenkinsRule r) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingInstaller.latch = release;
+        NodeJSInstallation installation = new NodeJSInstallation("node20", null, Collections.singletonList(new InstallSourceProperty(Collections.singletonList(new BlockingInstaller()))));
+        r.jenkins.getDescriptorByType(NodeJSInstallation.DescriptorImpl.class).setInstallations(installation);
+        DumbSlave agent = r.createOnlineSlave();
+
+        FreeStyleProject withNodeJS = r.createFreeStyleProject();
+        withNodeJS.getBuildWrappersList().add(new NodeJSBuildWrapper("node20"));
+        FreeStyleProject withoutNodeJS = r.createFreeStyleProject();
+
+        CompletableFuture<NodeJSBackgroundInstaller.Status> status = NodeJSBackgroundInstaller.get().install(agent.toComputer(), installation, true);
+        try {
+            NodeJSPreinstallProperty.BlockUntilInstalled dispatcher = new NodeJSPreinstallProperty.BlockUntilInstalled();
+            assertThat(dispatcher.canTake(agent, new Queue.BuildableItem(new Queue.WaitingItem(Calendar.getInstance(), withNodeJS, Collections.emptyList())))).isNotNull();
+            assertThat(dispatcher.canTake(agent, new Queue.BuildableItem(new Queue.WaitingItem(Calendar.getInstance(), withoutNodeJS, Collections.emptyList())))).isNull();
+        } finally {
+            release.countDown();
+        }
+        assertThat(status.get().getState()).isEqualTo(NodeJSBackgroundInstaller.State.INSTALLED);
+    }
+
+    public static class BlockingInstaller extends ToolInstaller {
+        private static volatile CountDownLatch latch;
+
+        BlockingInstaller() {
+            super(null);
+        }
+
+        @Override
+        public FilePath performInstallation(ToolInstallation tool, Node node, TaskListener log) throws IOException, InterruptedException {
+            latch.await();
+            return node.getRootPath();
+        }
+    }
+
+    @Test
+    void label_expression(JenkinsRule r) throws Exception {
+        DumbSlave agent = r.createSlave("agent", "linux", null);
+
+        assertThat(new NodeJSPreinstallProperty(null).appliesTo(agent)).isTrue();
+        assertThat(new NodeJSPreinstallProperty("linux || mac").appliesTo(agent)).isTrue();
+        assertThat(new NodeJSPreinstallProperty("!linux").appliesTo(agent)).isFalse();
+        assertThat(new NodeJSPreinstallProperty("linux &&").appliesTo(agent)).isFalse();
+    }
+
+}
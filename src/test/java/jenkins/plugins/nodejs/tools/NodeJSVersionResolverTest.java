@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.tools.DownloadFromUrlInstaller.Installable;
+import hudson.util.StreamTaskListener;
+
+class NodeJSVersionResolverTest {
+
+    @TempDir
+    private File folder;
+
+    @Test
+    void semver_ranges() {
+        NodeJSVersion version = NodeJSVersion.parseVersion("20.11.1");
+        assertThat(NodeJSVersionResolver.satisfies("20", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("v20.11.1", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("20.x", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("18", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies(">=18", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies(">= 18 <20", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies(">20", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("<=20", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("^20.10.0", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("^18.0.0", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("~20.11.0", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("~20.10.0", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("16 - 20.11", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("^16 || ^18", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("^18 || ^20", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("*", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("^0.2", NodeJSVersion.parseVersion("0.3.0"))).isFalse();
+    }
+
+    @Test
+    void nvm_aliases() {
+        NodeJSVersion version = NodeJSVersion.parseVersion("20.11.1");
+        assertThat(NodeJSVersionResolver.satisfies("node", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("lts/*", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("lts/iron", version)).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("lts/hydrogen", version)).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("lts/*", NodeJSVersion.parseVersion("21.6.0"))).isFalse();
+        // a new even line becomes LTS only some months after its first release
+        assertThat(NodeJSVersionResolver.satisfies("lts/*", NodeJSVersion.parseVersion("22.1.0"))).isFalse();
+        assertThat(NodeJSVersionResolver.satisfies("lts/jod", NodeJSVersion.parseVersion("22.11.0"))).isTrue();
+        assertThat(NodeJSVersionResolver.satisfies("lts/*", version, v -> null)).isFalse();
+    }
+
+    @Test
+    void resolve_picks_the_highest_satisfying_version() {
+        List<Installable> installables = new ArrayList<>();
+        for (String id : new String[] { "22.1.0", "21.6.0", "20.11.1", "20.10.0", "18.19.0" }) {
+            Installable installable = new Installable();
+            installable.id = id;
+            installables.add(installable);
+        }
+
+        assertThat(NodeJSVersionResolver.resolve("20", installables)).isEqualTo("20.11.1");
+        assertThat(NodeJSVersionResolver.resolve(">=18 <21", installables)).isEqualTo("20.11.1");
+        assertThat(NodeJSVersionResolver.resolve("lts/*", installables)).isEqualTo("20.11.1");
+        assertThat(NodeJSVersionResolver.resolve("^18", installables)).isEqualTo("18.19.0");
+        assertThat(NodeJSVersionResolver.resolve("16", installables)).isNull();
+    }
+
+    @Test
+    void read_spec_from_version_files() throws Exception {
+        FilePath workspace = new FilePath(folder);
+        TaskListener log = new StreamTaskListener(System.out, StandardCharsets.UTF_8);
+        assertThat(NodeJSVersionResolver.readSpec(workspace, log)).isNull();
+
+        workspace.child("package.json").write("{\"name\": \"test\", \"engines\": {\"node\": \">=18\"}}", "UTF-8");
+        assertThat(NodeJSVersionResolver.readSpec(workspace, log)).isEqualTo(">=18");
+
+        workspace.child(".node-version").write("20.11.1\n", "UTF-8");
+        assertThat(NodeJSVersionResolver.readSpec(workspace, log)).isEqualTo("20.11.1");
+
+        workspace.child(".nvmrc").write("# project version\nlts/iron # comment\n", "UTF-8");
+        assertThat(NodeJSVersionResolver.readSpec(workspace, log)).isEqualTo("lts/iron");
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.sf.json.JSONObject;
+
+class NpmPackagesLockTest {
+
+    private final JSONObject metadata = JSONObject.fromObject("{" //
+            + "\"name\": \"typescript\"," //
+            + "\"dist-tags\": {\"latest\": \"5.4.2\", \"next\": \"5.5.0-dev.20240320\"}," //
+            + "\"versions\": {\"4.9.5\": {}, \"5.3.3\": {}, \"5.4.2\": {}, \"5.5.0-dev.20240320\": {}}" //
+            + "}");
+
+    @Test
+    void resolve_dist_tags() {
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "")).isEqualTo("5.4.2");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "latest")).isEqualTo("5.4.2");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "next")).isEqualTo("5.5.0-dev.20240320");
+    }
+
+    @Test
+    void resolve_ranges_to_the_highest_release() {
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "^5.0.0")).isEqualTo("5.4.2");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "~5.3")).isEqualTo("5.3.3");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "4")).isEqualTo("4.9.5");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "5.3.3")).isEqualTo("5.3.3");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "5.5.0-dev.20240320")).isEqualTo("5.5.0-dev.20240320");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "^6")).isNull();
+    }
+
+    @Test
+    void nodejs_aliases_are_not_ranges() {
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "node")).isNull();
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "current")).isNull();
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "stable")).isNull();
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "lts/*")).isNull();
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "*")).isEqualTo("5.4.2");
+        assertThat(NpmPackagesLock.resolveVersion(metadata, "^4 || ^5.3 <5.4")).isEqualTo("5.3.3");
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.FilePath;
+
+class NpmPackagesRecordTest {
+
+    @TempDir
+    private File folder;
+
+    @Test
+    void package_name_of_spec() {
+        assertThat(NpmPackagesRecord.nameOf("typescript")).isEqualTo("typescript");
+        assertThat(NpmPackagesRecord.nameOf("typescript@5.3")).isEqualTo("typescript");
+        assertThat(NpmPackagesRecord.nameOf("@angular/cli@^17")).isEqualTo("@angular/cli");
+        assertThat(NpmPackagesRecord.nameOf("@angular/cli")).isEqualTo("@angular/cli");
+        assertThat(NpmPackagesRecord.nameOf("npm/cli")).isNull();
+        assertThat(NpmPackagesRecord.nameOf("https://example.com/pkg.tgz")).isNull();
+        assertThat(NpmPackagesRecord.nameOf("git+ssh://git@github.com/npm/cli.git")).isNull();
+        assertThat(NpmPackagesRecord.nameOf("./local")).isNull();
+        assertThat(NpmPackagesRecord.nameOf("tsc@npm:typescript")).isNull();
+    }
+
+    @Test
+    void difference_between_package_lists() throws Exception {
+        FilePath home = new FilePath(folder);
+        home.child("lib/node_modules/typescript/package.json").write("{\"name\": \"typescript\", \"version\": \"5.3.3\"}", "UTF-8");
+        home.child("lib/node_modules/grunt-cli/package.json").write("{\"name\": \"grunt-cli\", \"version\": \"1.4.3\"}", "UTF-8");
+        home.child("lib/node_modules/bower/package.json").write("{\"name\": \"bower\", \"version\": \"1.8.14\"}", "UTF-8");
+
+        NpmPackagesRecord previous = NpmPackagesRecord.build(home, Platform.LINUX, NpmPackagesRecord.specs("typescript@5 grunt-cli bower"), null);
+        previous.write(home);
+        previous = NpmPackagesRecord.read(home);
+        assertThat(previous.getEntries()).extracting(NpmPackagesRecord.Entry::getVersion).containsExactly("5.3.3", "1.4.3", "1.8.14");
+
+        List<String> specs = NpmPackagesRecord.specs("typescript@5.4  grunt-cli eslint");
+        assertThat(previous.isReconcilable(specs)).isTrue();
+        assertThat(previous.added(specs)).containsExactly("typescript@5.4", "eslint");
+        assertThat(previous.removed(specs)).containsExactly("bower");
+
+        assertThat(previous.isReconcilable(Arrays.asList("grunt-cli", "npm/cli"))).isFalse();
+    }
+
+    @DisabledOnOs(OS.WINDOWS)
+    @Test
+    void swap_packages_refreshed_in_side_prefix() throws Exception {
+        FilePath home = new FilePath(folder).child("NodeJS");
+        home.child("lib/node_modules/typescript/package.json").write("{\"version\": \"5.3.3\"}", "UTF-8");
+        home.child("lib/node_modules/@angular/cli/package.json").write("{\"version\": \"17.0.0\"}", "UTF-8");
+        home.child("bin/tsc").write("old", "UTF-8");
+        FilePath side = home.sibling("NodeJS" + NodeJSInstaller.NPM_REFRESH_FOLDER);
+        side.child("lib/node_modules/typescript/package.json").write("{\"version\": \"5.4.2\", \"bin\": {\"tsc\": \"./bin/tsc\"}}", "UTF-8");
+        side.child("lib/node_modules/@angular/cli/package.json").write("{\"version\": \"17.3.0\"}", "UTF-8");
+        side.child("bin/tsc").write("new", "UTF-8");
+
+        home.act(new NpmPackagesRecord.Swap(side.getRemote(), false, Arrays.asList("typescript@5", "@angular/cli")));
+
+        NpmPackagesRecord record = NpmPackagesRecord.build(home, Platform.LINUX, Arrays.asList("typescript@5", "@angular/cli"), null);
+        assertThat(record.getEntries()).extracting(NpmPackagesRecord.Entry::getVersion).containsExactly("5.4.2", "17.3.0");
+        assertThat(home.child("bin/tsc").readToString()).isEqualTo("new");
+        assertThat(home.child("lib/node_modules/.typescript.old").exists()).isFalse();
+    }
+
+    @Test
+    void swap_only_the_shims_of_the_packages_on_windows() throws Exception {
+        FilePath home = new FilePath(folder).child("NodeJS");
+        home.child("node.exe").write("node", "UTF-8");
+        home.child("npm.cmd").write("npm", "UTF-8");
+        home.child("node_modules/typescript/package.json").write("{\"version\": \"5.3.3\"}", "UTF-8");
+        home.child("tsc.cmd").write("old", "UTF-8");
+        FilePath side = home.sibling("NodeJS" + NodeJSInstaller.NPM_REFRESH_FOLDER);
+        side.child("node_modules/typescript/package.json").write("{\"version\": \"5.4.2\", \"bin\": {\"tsc\": \"bin/tsc\", \"tsserver\": \"bin/tsserver\"}}", "UTF-8");
+        side.child("node_modules/@angular/cli/package.json").write("{\"version\": \"17.3.0\", \"bin\": \"bin/ng.js\"}", "UTF-8");
+        side.child("tsc").write("new", "UTF-8");
+        side.child("tsc.cmd").write("new", "UTF-8");
+        side.child("tsc.ps1").write("new", "UTF-8");
+        side.child("tsserver.cmd").write("new", "UTF-8");
+        side.child("cli.cmd").write("new", "UTF-8");
+        // left by npm beside the shims, they do not belong to the packages
+        side.child("npm.cmd").write("side", "UTF-8");
+        side.child("etc.txt").write("side", "UTF-8");
+
+        home.act(new NpmPackagesRecord.Swap(side.getRemote(), true, Arrays.asList("typescript@5", "@angular/cli")));
+
+        NpmPackagesRecord record = NpmPackagesRecord.build(home, Platform.WINDOWS, Arrays.asList("typescript@5", "@angular/cli"), null);
+        assertThat(record.getEntries()).extracting(NpmPackagesRecord.Entry::getVersion).containsExactly("5.4.2", "17.3.0");
+        assertThat(home.child("tsc").readToString()).isEqualTo("new");
+        assertThat(home.child("tsc.cmd").readToString()).isEqualTo("new");
+        assertThat(home.child("tsc.ps1").readToString()).isEqualTo("new");
+        assertThat(home.child("tsserver.cmd").readToString()).isEqualTo("new");
+        assertThat(home.child("cli.cmd").readToString()).isEqualTo("new");
+        assertThat(home.child("npm.cmd").readToString()).isEqualTo("npm");
+        assertThat(home.child("etc.txt").exists()).isFalse();
+        assertThat(side.child("npm.cmd").exists()).isTrue();
+    }
+
+    @Test
+    void unchanged_packages_keep_their_install_time() throws Exception {
+        FilePath home = new FilePath(folder);
+        NpmPackagesRecord previous = new NpmPackagesRecord();
+        previous.add(new NpmPackagesRecord.Entry("grunt-cli", "grunt-cli", "1.4.3", 1000L));
+
+        NpmPackagesRecord record = NpmPackagesRecord.build(home, Platform.LINUX, NpmPackagesRecord.specs("grunt-cli eslint"), previous);
+        assertThat(record.getEntries()).extracting(NpmPackagesRecord.Entry::getInstalled).first().isEqualTo(1000L);
+        assertThat(record.getEntries()).extracting(NpmPackagesRecord.Entry::getInstalled).last().isNotEqualTo(1000L);
+    }
+
+}
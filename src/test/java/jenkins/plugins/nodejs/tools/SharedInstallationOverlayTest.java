@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisabledOnOs(OS.WINDOWS)
+class SharedInstallationOverlayTest {
+
+    @TempDir
+    private File folder;
+
+    @Test
+    void overlay_links_shared_installation_and_keeps_global_folders_private() throws Exception {
+        Path base = folder.toPath().resolve(".shared/20.11.0-linux-amd64");
+        Files.createDirectories(base.resolve("bin"));
+        Files.createDirectories(base.resolve("include/node"));
+        Files.createDirectories(base.resolve("lib/node_modules/npm/bin"));
+        Files.write(base.resolve("bin/node"), "node".getBytes(StandardCharsets.UTF_8));
+        Files.write(base.resolve("lib/node_modules/npm/bin/npm-cli.js"), "npm".getBytes(StandardCharsets.UTF_8));
+        Files.createSymbolicLink(base.resolve("bin/npm"), Paths.get("../lib/node_modules/npm/bin/npm-cli.js"));
+        Files.write(base.resolve(".installedFrom"), "https://nodejs.org/dist/v20.11.0/node-v20.11.0-linux-x64.tar.gz".getBytes(StandardCharsets.UTF_8));
+
+        File overlay = new File(folder, "nodejs");
+        new SharedInstallationOverlay(base.toString()).invoke(overlay, null);
+
+        Path home = overlay.toPath();
+        assertThat(Files.isSymbolicLink(home.resolve("include"))).isTrue();
+        assertThat(Files.isSymbolicLink(home.resolve("bin"))).isFalse();
+        assertThat(Files.isSymbolicLink(home.resolve("lib/node_modules"))).isFalse();
+        assertThat(Files.isSymbolicLink(home.resolve("lib/node_modules/npm"))).isTrue();
+        assertThat(Files.isSymbolicLink(home.resolve("bin/node"))).isFalse();
+        assertThat(Files.isSameFile(home.resolve("bin/node"), base.resolve("bin/node"))).isTrue();
+        assertThat(home.resolve("bin/npm")).hasContent("npm");
+        assertThat(home.resolve(".installedFrom")).hasSameTextualContentAs(base.resolve(".installedFrom"));
+    }
+
+}
@@ -29,7 +29,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import hudson.model.Node;
+import hudson.tools.DownloadFromUrlInstaller.Installable;
+import net.sf.json.JSONObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -83,4 +88,19 @@ class ToolsUtilsTest {
         assertThat(cpu).isEqualTo(CPU.armv6l);
     }
 
-}
\ No newline at end of file
+    @Test
+    void installables_are_sorted_from_the_newest_without_blacklisted_versions() {
+        JSONObject data = JSONObject.fromObject("{\"list\": [" //
+                + "{\"id\": \"0.8.5\", \"name\": \"NodeJS 0.8.5\", \"url\": \"https://nodejs.org/dist/v0.8.5/\"}," //
+                + "{\"id\": \"18.19.0\", \"name\": \"NodeJS 18.19.0\", \"url\": \"https://nodejs.org/dist/v18.19.0/\"}," //
+                + "{\"id\": \"20.11.0\", \"name\": \"NodeJS 20.11.0\", \"url\": \"https://nodejs.org/dist/v20.11.0/\"}," //
+                + "{\"id\": \"9.11.2\", \"name\": \"NodeJS 9.11.2\", \"url\": \"https://nodejs.org/dist/v9.11.2/\"}" //
+                + "]}");
+
+        List<Installable> installables = ToolsUtils.parse(data);
+        assertThat(installables.stream().map(i -> i.id).collect(Collectors.joining(","))).isEqualTo("20.11.0,18.19.0,9.11.2");
+        assertThat(installables.get(0).url).isEqualTo("https://nodejs.org/dist/v20.11.0/");
+        assertThatThrownBy(() -> installables.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
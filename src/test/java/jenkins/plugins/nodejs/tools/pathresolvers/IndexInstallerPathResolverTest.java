@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package jenkins.plugins.nodejs.tools.pathresolvers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import jenkins.plugins.nodejs.tools.CPU;
+import jenkins.plugins.nodejs.tools.Platform;
+
+class IndexInstallerPathResolverTest {
+
+    private final Map<String, Set<String>> index = IndexInstallerPathResolver.parse("[" //
+            + "{\"version\": \"v20.11.0\", \"files\": [\"linux-x64\", \"linux-arm64\", \"osx-arm64-tar\", \"osx-x64-pkg\", \"osx-x64-tar\", \"win-x64-msi\", \"win-x64-zip\", \"win-x86-msi\"]}," //
+            + "{\"version\": \"v6.0.0\", \"files\": [\"linux-x64\", \"win-x64-msi\", \"win-x64-zip\"]}," //
+            + "{\"version\": \"v0.10.48\", \"files\": [\"linux-x64\", \"sunos-x64\", \"win-x64-exe\", \"win-x64-msi\"]}" //
+            + "]");
+
+    @Test
+    void parse_versions_without_prefix() {
+        assertThat(index).containsOnlyKeys("20.11.0", "6.0.0", "0.10.48");
+        assertThat(index.get("0.10.48")).contains("sunos-x64", "win-x64-msi");
+    }
+
+    @Test
+    void parse_lts_codename() {
+        Map<String, String> lts = IndexInstallerPathResolver.parseLTS("[" //
+                + "{\"version\": \"v22.1.0\", \"lts\": false}," //
+                + "{\"version\": \"v20.11.0\", \"lts\": \"Iron\"}" //
+                + "]");
+        assertThat(lts).containsOnly(entry("20.11.0", "iron"));
+    }
+
+    @Test
+    void dist_url_of_version_folder() {
+        assertThat(IndexInstallerPathResolver.getDistURL("https://nodejs.org/dist/v20.11.0/")).isEqualTo("https://nodejs.org/dist");
+    }
+
+    @Test
+    void prefer_archives_the_installer_can_unpack() {
+        Set<String> files = index.get("20.11.0");
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.LINUX, CPU.amd64, files)).isEqualTo("node-v20.11.0-linux-x64.tar.gz");
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.OSX, CPU.arm64, files)).isEqualTo("node-v20.11.0-darwin-arm64.tar.gz");
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.WINDOWS, CPU.amd64, files)).isEqualTo("node-v20.11.0-win-x64.zip");
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.WINDOWS, CPU.i386, files)).isEqualTo("node-v20.11.0-x86.msi");
+        assertThat(IndexInstallerPathResolver.resolvePath("0.10.48", Platform.WINDOWS, CPU.amd64, index.get("0.10.48"))).isEqualTo("x64/node-v0.10.48-x64.msi");
+    }
+
+    @Test
+    void keep_the_msi_of_the_built_in_rules() {
+        // a different archive would change the URL recorded by existing installations
+        assertThat(IndexInstallerPathResolver.resolvePath("6.0.0", Platform.WINDOWS, CPU.amd64, index.get("6.0.0"))).isEqualTo("node-v6.0.0-x64.msi");
+    }
+
+    @Test
+    void reject_files_not_published() {
+        Set<String> files = index.get("20.11.0");
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.LINUX, CPU.armv6l, files)).isNull();
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.SUNOS, CPU.amd64, files)).isNull();
+        assertThat(IndexInstallerPathResolver.resolvePath("20.11.0", Platform.WINDOWS, CPU.arm64, files)).isNull();
+    }
+
+}